@@ -0,0 +1,62 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+// One hero against every monster in the catalog in turn, with a silent listener. Fainted monsters are
+// reset and the hero is healed and refilled in place, so every call does a full attack.
+public class BattleFixture implements bench.Fixture {
+    private final List<Monster> monsters = new ArrayList<>();
+    private Battle battle;
+    private Hero hero;
+    private Spell spell;
+    private int next;
+
+    @Override
+    public void setUp(int size) throws Exception {
+        Catalog catalog = SyntheticCatalog.load(size);
+        MonsterFactory monsterFactory = new MonsterFactory(new SplittableRandom(1));
+        for (Monster template : catalog.getMonsters()) {
+            monsters.add(monsterFactory.cloneMonster(template));
+        }
+        hero = new HeroFactory().cloneHero(catalog.getHeroes().get(0));
+        spell = catalog.getStock().getSpells().get(0);
+        battle = new Battle(new Party(List.of(hero)), monsters, BattleListener.NONE, new SplittableRandom(1));
+    }
+
+    @Override
+    public Supplier<?> operation(String name) {
+        return switch (name) {
+            case "heroAttack" -> () -> {
+                Monster target = nextMonster();
+                battle.heroAttack(hero, target);
+                return target;
+            };
+            case "castSpell" -> () -> {
+                if (!hero.hasManaFor(spell.getManaCost())) {
+                    hero.restoreFullMana();
+                }
+                Monster target = nextMonster();
+                battle.castSpell(hero, spell, target);
+                return target;
+            };
+            case "monsterAttack" -> () -> {
+                if (hero.isFainted()) {
+                    hero.restoreFullHealth();
+                }
+                battle.monsterAttack(nextMonster(), hero);
+                return hero;
+            };
+            default -> throw new IllegalArgumentException("Unknown battle operation: " + name);
+        };
+    }
+
+    private Monster nextMonster() {
+        Monster monster = monsters.get(next);
+        next = next + 1 == monsters.size() ? 0 : next + 1;
+        if (monster.isFainted()) {
+            monster.reset();
+        }
+        return monster;
+    }
+}
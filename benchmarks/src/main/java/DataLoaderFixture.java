@@ -0,0 +1,46 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+// A synthetic catalog on disk plus its compiled snapshot. Operations are named "<format>:<source>",
+// for example "text:DRAGONS", and load that one file through the text or snapshot loader.
+public class DataLoaderFixture implements bench.Fixture {
+    private Path dir;
+    private CatalogSnapshot snapshot;
+
+    @Override
+    public void setUp(int size) throws Exception {
+        dir = SyntheticCatalog.write(size);
+        Path compiled = dir.resolve(CatalogSnapshot.DEFAULT_PATH.getFileName());
+        CatalogCompiler.compile(dir, compiled);
+        snapshot = CatalogSnapshot.open(compiled);
+    }
+
+    @Override
+    public Supplier<?> operation(String name) {
+        int colon = name.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Expected <format>:<source>, got " + name);
+        }
+        CatalogSource source = CatalogSource.valueOf(name.substring(colon + 1));
+        DataLoader<?> loader = switch (name.substring(0, colon)) {
+            case "text" -> source.textLoader();
+            case "snapshot" -> source.loader(snapshot);
+            default -> throw new IllegalArgumentException("Unknown loader format: " + name);
+        };
+        Path file = dir.resolve(source.getFileName());
+        return () -> {
+            try {
+                return loader.load(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        SyntheticCatalog.delete(dir);
+    }
+}
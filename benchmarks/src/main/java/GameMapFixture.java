@@ -0,0 +1,30 @@
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+// Generates maps of the given size from successive seeds, and renders one map's viewport to a sink
+// that discards output so only the rendering itself is measured.
+public class GameMapFixture implements bench.Fixture {
+    private Market market;
+    private GameMap map;
+    private int size;
+    private long seed;
+
+    @Override
+    public void setUp(int size) throws Exception {
+        this.size = size;
+        market = new Market(Catalog.load(SyntheticCatalog.DATA_DIR, null).getStock());
+        map = GameMap.generateDefault(size, market, new SplittableRandom(1));
+    }
+
+    @Override
+    public Supplier<?> operation(String name) {
+        return switch (name) {
+            case "generateDefault" -> () -> GameMap.generateDefault(size, market, new SplittableRandom(seed++));
+            case "render" -> () -> {
+                map.render(OutputSink.NULL);
+                return map;
+            };
+            default -> throw new IllegalArgumentException("Unknown map operation: " + name);
+        };
+    }
+}
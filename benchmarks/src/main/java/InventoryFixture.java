@@ -0,0 +1,32 @@
+import java.util.List;
+import java.util.function.Supplier;
+
+// An inventory holding one of every market item in the catalog, queried for each category in turn.
+public class InventoryFixture implements bench.Fixture {
+    private static final List<Class<? extends Item>> TYPES = List.of(Weapon.class, Armor.class, Potion.class,
+            Spell.class);
+
+    private final Inventory inventory = new Inventory();
+    private int next;
+
+    @Override
+    public void setUp(int size) throws Exception {
+        MarketFactory.Stock stock = SyntheticCatalog.load(size).getStock();
+        for (List<? extends Item> category : List.of(stock.getWeapons(), stock.getArmors(), stock.getPotions(),
+                stock.getSpells())) {
+            category.forEach(inventory::add);
+        }
+    }
+
+    @Override
+    public Supplier<?> operation(String name) {
+        if (!name.equals("getByType")) {
+            throw new IllegalArgumentException("Unknown inventory operation: " + name);
+        }
+        return () -> {
+            Class<? extends Item> type = TYPES.get(next);
+            next = (next + 1) % TYPES.size();
+            return inventory.getByType(type);
+        };
+    }
+}
@@ -0,0 +1,35 @@
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+// Spawns and releases a group of three for levels 1 through 10 in turn, as each encounter does.
+public class MonsterFactoryFixture implements bench.Fixture {
+    private static final int GROUP_SIZE = 3;
+    private static final int MAX_LEVEL = 10;
+
+    private MonsterFactory factory;
+    private MonsterIndex index;
+    private int level;
+
+    @Override
+    public void setUp(int size) throws Exception {
+        index = SyntheticCatalog.load(size).getMonsterIndex();
+        factory = new MonsterFactory(new SplittableRandom(1));
+    }
+
+    @Override
+    public Supplier<?> operation(String name) {
+        return switch (name) {
+            case "spawnForLevel" -> () -> spawn(null);
+            case "spawnForLevelTyped" -> () -> spawn(Spirit.class);
+            default -> throw new IllegalArgumentException("Unknown monster factory operation: " + name);
+        };
+    }
+
+    private List<Monster> spawn(Class<? extends Monster> type) {
+        level = level == MAX_LEVEL ? 1 : level + 1;
+        List<Monster> spawned = factory.spawnForLevel(index, level, GROUP_SIZE, type);
+        factory.release(spawned);
+        return spawned;
+    }
+}
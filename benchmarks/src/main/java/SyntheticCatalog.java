@@ -0,0 +1,56 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Copies Data/ into a temp directory with every file grown or cut to the requested number of rows. Real
+// rows are repeated under numbered names, so the stats stay realistic at any catalog size.
+final class SyntheticCatalog {
+    static final Path DATA_DIR = Path.of(System.getProperty("legends.data", "Data"));
+
+    private SyntheticCatalog() {
+    }
+
+    static Path write(int rows) throws IOException {
+        if (rows <= 0) {
+            throw new IllegalArgumentException("Catalog size must be positive");
+        }
+        Path dir = Files.createTempDirectory("legends-catalog");
+        for (CatalogSource source : CatalogSource.values()) {
+            List<String> lines = Files.readAllLines(DATA_DIR.resolve(source.getFileName()));
+            List<String> records = lines.stream().skip(1).map(String::strip).filter(line -> !line.isEmpty()).toList();
+            List<String> out = new ArrayList<>(rows + 1);
+            out.add(lines.get(0));
+            for (int i = 0; i < rows; i++) {
+                String record = records.get(i % records.size());
+                int nameEnd = 0;
+                while (nameEnd < record.length() && !Character.isWhitespace(record.charAt(nameEnd))) {
+                    nameEnd++;
+                }
+                out.add(record.substring(0, nameEnd) + "_" + i + record.substring(nameEnd));
+            }
+            Files.write(dir.resolve(source.getFileName()), out);
+        }
+        return dir;
+    }
+
+    static Catalog load(int rows) throws IOException {
+        Path dir = write(rows);
+        try {
+            return Catalog.load(dir, null);
+        } finally {
+            delete(dir);
+        }
+    }
+
+    static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
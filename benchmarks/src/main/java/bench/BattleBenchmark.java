@@ -0,0 +1,54 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BattleBenchmark {
+    @Param({"16", "256", "4096"})
+    public int catalogSize;
+
+    private Supplier<?> heroAttack;
+    private Supplier<?> castSpell;
+    private Supplier<?> monsterAttack;
+
+    @Setup
+    public void setUp() throws Exception {
+        Fixture fixture = Fixture.load("BattleFixture");
+        fixture.setUp(catalogSize);
+        heroAttack = fixture.operation("heroAttack");
+        castSpell = fixture.operation("castSpell");
+        monsterAttack = fixture.operation("monsterAttack");
+    }
+
+    @Benchmark
+    public Object heroAttack() {
+        return heroAttack.get();
+    }
+
+    @Benchmark
+    public Object castSpell() {
+        return castSpell.get();
+    }
+
+    @Benchmark
+    public Object monsterAttack() {
+        return monsterAttack.get();
+    }
+}
@@ -0,0 +1,55 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// One run per catalog file, format and size; narrow with -p source=DRAGONS -p format=text.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataLoaderBenchmark {
+    @Param({"16", "256", "4096"})
+    public int catalogSize;
+
+    @Param({"PALADINS", "SORCERERS", "WARRIORS", "DRAGONS", "EXOSKELETONS", "SPIRITS", "WEAPONS", "ARMORS",
+            "POTIONS", "FIRE_SPELLS", "ICE_SPELLS", "LIGHTNING_SPELLS", "ZONES"})
+    public String source;
+
+    @Param({"text", "snapshot"})
+    public String format;
+
+    private Fixture fixture;
+    private Supplier<?> load;
+
+    @Setup
+    public void setUp() throws Exception {
+        fixture = Fixture.load("DataLoaderFixture");
+        fixture.setUp(catalogSize);
+        load = fixture.operation(format + ":" + source);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        fixture.tearDown();
+    }
+
+    @Benchmark
+    public Object load() {
+        return load.get();
+    }
+}
@@ -0,0 +1,21 @@
+package bench;
+
+import java.util.function.Supplier;
+
+// JMH rejects benchmarks in the default package, and a named package cannot see the game's classes,
+// so each benchmark drives a default-package fixture through this interface. The fixture is looked up
+// by name once per trial; the measured call is a plain interface call.
+public interface Fixture {
+    // Builds the game objects for one trial; size is rows per catalog file or the map's side length.
+    void setUp(int size) throws Exception;
+
+    // Each get() runs the named operation once and returns its result for the Blackhole.
+    Supplier<?> operation(String name);
+
+    default void tearDown() throws Exception {
+    }
+
+    static Fixture load(String className) throws ReflectiveOperationException {
+        return (Fixture) Class.forName(className).getConstructor().newInstance();
+    }
+}
@@ -0,0 +1,47 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameMapBenchmark {
+    @Param({"8", "128", "2048"})
+    public int mapSize;
+
+    private Supplier<?> generateDefault;
+    private Supplier<?> render;
+
+    @Setup
+    public void setUp() throws Exception {
+        Fixture fixture = Fixture.load("GameMapFixture");
+        fixture.setUp(mapSize);
+        generateDefault = fixture.operation("generateDefault");
+        render = fixture.operation("render");
+    }
+
+    @Benchmark
+    public Object generateDefault() {
+        return generateDefault.get();
+    }
+
+    @Benchmark
+    public Object render() {
+        return render.get();
+    }
+}
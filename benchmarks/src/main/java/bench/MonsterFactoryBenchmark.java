@@ -0,0 +1,47 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonsterFactoryBenchmark {
+    @Param({"16", "256", "4096"})
+    public int catalogSize;
+
+    private Supplier<?> spawnForLevel;
+    private Supplier<?> spawnForLevelTyped;
+
+    @Setup
+    public void setUp() throws Exception {
+        Fixture fixture = Fixture.load("MonsterFactoryFixture");
+        fixture.setUp(catalogSize);
+        spawnForLevel = fixture.operation("spawnForLevel");
+        spawnForLevelTyped = fixture.operation("spawnForLevelTyped");
+    }
+
+    @Benchmark
+    public Object spawnForLevel() {
+        return spawnForLevel.get();
+    }
+
+    @Benchmark
+    public Object spawnForLevelTyped() {
+        return spawnForLevelTyped.get();
+    }
+}
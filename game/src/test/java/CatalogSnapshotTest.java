@@ -0,0 +1,44 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CatalogSnapshotTest {
+    private static final Path WEAPONS = Path.of("Data", CatalogSource.WEAPONS.getFileName());
+
+    @TempDir
+    static Path dir;
+
+    private static CatalogSnapshot snapshot;
+
+    @BeforeAll
+    static void compile() throws IOException {
+        Path file = dir.resolve("catalog.bin");
+        CatalogCompiler.compile(Path.of("Data"), file);
+        snapshot = CatalogSnapshot.open(file);
+    }
+
+    @Test
+    void streamMatchesRead() throws IOException {
+        List<Weapon> weapons = snapshot.read(WEAPONS, Weapon.class);
+
+        assertFalse(weapons.isEmpty());
+        try (Stream<Weapon> stream = snapshot.stream(WEAPONS, Weapon.class)) {
+            assertEquals(weapons.stream().map(Weapon::getName).toList(), stream.map(Weapon::getName).toList());
+        }
+    }
+
+    @Test
+    void wrongTypeFallsBackBeforeStreaming() throws IOException {
+        assertNull(snapshot.read(WEAPONS, Armor.class));
+        assertNull(snapshot.stream(WEAPONS, Armor.class));
+    }
+}
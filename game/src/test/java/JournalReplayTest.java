@@ -0,0 +1,122 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// A session cut off at any point must come back, through its save and journal, to the exact state the
+// uninterrupted session reaches with the same input.
+class JournalReplayTest {
+    private static final Path DATA_DIR = Path.of("Data");
+
+    private static CatalogReloader catalogs;
+
+    @TempDir
+    Path dir;
+
+    @BeforeAll
+    static void loadCatalogs() throws IOException {
+        catalogs = new CatalogReloader(DATA_DIR, Catalog.load(DATA_DIR, null));
+    }
+
+    @AfterAll
+    static void closeCatalogs() throws IOException {
+        catalogs.close();
+    }
+
+    @Test
+    void resumedSessionMatchesTheLiveOne() {
+        List<String> played = session(12);
+        List<String> report = List.of("i", "b", "m");
+
+        String live = play(dir.resolve("live.sav"), concat(played, report), played.size());
+        Path save = dir.resolve("crashed.sav");
+        play(save, played, 0);
+        String resumed = play(save, report, 0);
+
+        assertTrue(resumed.contains("=== INVENTORY ==="), resumed);
+        assertEquals(live, resumed);
+    }
+
+    @Test
+    void replayCrossesSnapshots() throws IOException {
+        // Long enough to take snapshots, so recovery starts from a later save and a compacted journal.
+        List<String> played = session(20);
+        List<String> report = List.of("i", "b", "m");
+
+        String live = play(dir.resolve("live.sav"), concat(played, report), played.size());
+        Path save = dir.resolve("crashed.sav");
+        play(save, played, 0);
+        long snapshot = SaveGame.read(save).journalSequence();
+        List<Journal.Record> journal = Journal.read(dir.resolve("crashed.sav.journal"));
+        String resumed = play(save, report, 0);
+
+        assertTrue(snapshot > 0, "no snapshot after the first save");
+        assertTrue(journal.get(0).sequence() > 0, "journal was not compacted");
+        assertEquals(live, resumed);
+    }
+
+    @Test
+    void everyInterruptionPointRecovers() {
+        List<String> played = concat(session(6), List.of("i", "b", "m"));
+
+        for (int cut = 1; cut < played.size(); cut++) {
+            String live = play(dir.resolve("live-" + cut + ".sav"), played, cut);
+            Path save = dir.resolve("cut-" + cut + ".sav");
+            play(save, played.subList(0, cut), 0);
+            String resumed = play(save, played.subList(cut, played.size()), 0);
+            assertEquals(live, resumed, "interrupted after " + cut + " lines");
+        }
+    }
+
+    // Picks two heroes, then walks, attacks and backs out; the same lines are valid answers in a battle,
+    // a market or on the map, so the session stays meaningful whatever the encounters turn out to be.
+    private static List<String> session(int rounds) {
+        List<String> lines = new ArrayList<>(List.of("", "8", "14", ""));
+        String[] moves = {"d", "s", "a", "w"};
+        for (int i = 0; i < rounds; i++) {
+            lines.add(moves[i % moves.length]);
+            lines.add("1");
+            lines.add("0");
+            lines.add("b");
+        }
+        return lines;
+    }
+
+    // Plays the lines and returns the output from the moment the game asks for line `from` onwards. The
+    // game flushes before every read, so that is exactly what the lines from there on produce; a resumed
+    // session asks for its first line only after the journal has been replayed.
+    private static String play(Path save, List<String> lines, int from) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        int[] next = {0};
+        int[] mark = {-1};
+        LegendsGame game = new LegendsGame(new RandomSource(7), new BufferedOutputSink(bytes), () -> {
+            if (next[0] == from) {
+                mark[0] = bytes.size();
+            }
+            return next[0] < lines.size() ? lines.get(next[0]++) : null;
+        });
+        game.setCatalogs(catalogs);
+        game.setSaveFile(save);
+        game.run();
+        String output = bytes.toString(StandardCharsets.UTF_8);
+        assertTrue(mark[0] >= 0, "the game stopped reading before line " + from + ":\n" + output);
+        return new String(Arrays.copyOfRange(bytes.toByteArray(), mark[0], bytes.size()), StandardCharsets.UTF_8);
+    }
+
+    private static List<String> concat(List<String> first, List<String> second) {
+        List<String> lines = new ArrayList<>(first);
+        lines.addAll(second);
+        return lines;
+    }
+}
@@ -0,0 +1,108 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JournalTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void readStopsAtATornTail() throws IOException {
+        try (Journal journal = new Journal(dir, 0)) {
+            journal.appendSeed(42);
+            journal.appendCommand("d");
+            journal.appendCommand("list");
+        }
+        Path segment = only(segments());
+        long size = Files.size(segment);
+        // Cut the last record off halfway through its payload, as a crash mid-commit would.
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 6);
+        }
+
+        List<Journal.Record> records = Journal.read(dir);
+
+        assertEquals(List.of(new Journal.Record(0, Journal.SEED, 42, null),
+                new Journal.Record(1, Journal.COMMAND, 0, "d")), records);
+    }
+
+    @Test
+    void readStopsAtACorruptRecord() throws IOException {
+        try (Journal journal = new Journal(dir, 0)) {
+            journal.appendCommand("w");
+            journal.appendCommand("a");
+        }
+        Path segment = only(segments());
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[bytes.length - 5] ^= 1; // last payload byte of "a"
+        Files.write(segment, bytes);
+
+        assertEquals(List.of(new Journal.Record(0, Journal.COMMAND, 0, "w")), Journal.read(dir));
+    }
+
+    @Test
+    void compactionDeletesOnlySegmentsBeforeTheSeed() throws IOException {
+        try (Journal journal = new Journal(dir, 0)) {
+            journal.appendCommand("w");        // segment 0
+            journal.appendSeed(1);             // segment 1
+            journal.appendCommand("s");
+            long seed = journal.appendSeed(2); // segment 3
+            journal.appendCommand("d");
+            journal.compact(seed);
+        }
+
+        assertEquals(List.of("journal-0000000000000003.log"), segments().stream()
+                .map(file -> file.getFileName().toString()).toList());
+        List<Journal.Record> records = Journal.read(dir);
+        assertEquals(List.of(3L, 4L), records.stream().map(Journal.Record::sequence).toList());
+        assertTrue(records.get(0).isSeed());
+    }
+
+    @Test
+    void compactionKeepsTheSegmentThatHoldsTheSeed() throws IOException {
+        try (Journal journal = new Journal(dir, 0)) {
+            journal.appendCommand("w");
+            long seed = journal.appendSeed(1);
+            journal.appendCommand("s");
+            journal.appendSeed(2);
+            journal.appendCommand("d");
+            journal.compact(seed);
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), Journal.read(dir).stream().map(Journal.Record::sequence).toList());
+    }
+
+    @Test
+    void reopenedJournalContinuesTheSequenceInANewSegment() throws IOException {
+        try (Journal journal = new Journal(dir, 0)) {
+            journal.appendCommand("w");
+        }
+        try (Journal journal = new Journal(dir, 1)) {
+            journal.appendCommand("s");
+        }
+
+        assertEquals(2, segments().size());
+        assertEquals(List.of("w", "s"), Journal.read(dir).stream().map(Journal.Record::command).toList());
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("journal-")).sorted().toList();
+        }
+    }
+
+    private static Path only(List<Path> files) {
+        assertEquals(1, files.size(), "segments: " + files);
+        return files.get(0);
+    }
+}
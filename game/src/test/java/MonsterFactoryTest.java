@@ -0,0 +1,47 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class MonsterFactoryTest {
+    private static MonsterIndex index;
+
+    @BeforeAll
+    static void loadMonsters() throws IOException {
+        index = Catalog.load(Path.of("Data"), null).getMonsterIndex();
+    }
+
+    @Test
+    void zoneGroupsCanMixTypes() {
+        MonsterFactory factory = new MonsterFactory(new SplittableRandom(1));
+        Zone zone = new Zone("Even", 100, 1, 10, 1, 1, 1);
+        boolean mixed = false;
+        for (int i = 0; i < 100 && !mixed; i++) {
+            List<Monster> group = factory.spawnForZone(index, 1, 3, zone);
+            assertEquals(3, group.size());
+            Set<Class<?>> types = new HashSet<>();
+            group.forEach(monster -> types.add(monster.getClass()));
+            mixed = types.size() > 1;
+        }
+        assertTrue(mixed, "every group had a single type");
+    }
+
+    @Test
+    void zoneWeightsPickTheType() {
+        MonsterFactory factory = new MonsterFactory(new SplittableRandom(1));
+        Zone spiritsOnly = new Zone("Moor", 100, 1, 10, 0, 0, 1);
+        for (int i = 0; i < 50; i++) {
+            for (Monster monster : factory.spawnForZone(index, 1, 3, spiritsOnly)) {
+                assertTrue(monster instanceof Spirit, monster.getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SaveGameTest {
+    private static final SaveGame.HeroState PARZIVAL = new SaveGame.HeroState("Parzival", 3, 120, 130, 280, 350,
+            800, 720, 660, 2400, 75, Map.of("Sword", 2, "Healing_Potion", 1), "Sword", null);
+    private static final SaveGame.HeroState CALIBER = new SaveGame.HeroState("Caliber_Heist", 2, 110, 110, 400, 432,
+            420, 410, 400, 900, 10, Map.of(), null, "Platinum_Shield");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void encodeDecodeRoundTrip() throws IOException {
+        SaveGame save = sample();
+
+        assertEquals(save, SaveGame.decode(ByteBuffer.wrap(save.encode())));
+    }
+
+    @Test
+    void writeReadRoundTrip() throws IOException {
+        SaveGame save = sample();
+        Path file = dir.resolve("game.sav");
+
+        save.write(file);
+
+        assertEquals(save, SaveGame.read(file));
+    }
+
+    @Test
+    void checksumMismatchIsRejected() {
+        byte[] bytes = sample().encode();
+        bytes[20] ^= 1; // inside the map seed
+
+        IOException e = assertThrows(IOException.class, () -> SaveGame.decode(ByteBuffer.wrap(bytes)));
+        assertTrue(e.getMessage().contains("checksum"), e.getMessage());
+    }
+
+    @Test
+    void truncatedFileIsRejected() {
+        byte[] bytes = sample().encode();
+
+        assertThrows(IOException.class, () -> SaveGame.decode(ByteBuffer.wrap(Arrays.copyOf(bytes, 40))));
+        assertThrows(IOException.class, () -> SaveGame.decode(ByteBuffer.wrap(new byte[8])));
+    }
+
+    @Test
+    void versionOneLoadsWithoutReseed() throws IOException {
+        SaveGame save = sample();
+
+        SaveGame loaded = SaveGame.decode(ByteBuffer.wrap(encode(save, 1)));
+
+        assertEquals(new SaveGame(save.mapSize(), save.mapSeed(), save.zoneSeed(), save.heroRow(), save.heroCol(),
+                save.edits(), save.heroes(), 0, -1), loaded);
+    }
+
+    @Test
+    void newerVersionIsRejected() {
+        IOException e = assertThrows(IOException.class,
+                () -> SaveGame.decode(ByteBuffer.wrap(encode(sample(), SaveGame.VERSION + 1))));
+        assertTrue(e.getMessage().contains("version"), e.getMessage());
+    }
+
+    @Test
+    void itemsSharingANameAddUpInOneStack() {
+        Hero hero = new Warrior("Parzival", 1, 100, 300, 700, 650, 600, 1000, 0);
+        Weapon first = new Weapon("Sword", 500, 1, 800, 1);
+        Weapon second = new Weapon("Sword", 500, 1, 800, 1);
+        hero.getInventory().add(first);
+        hero.getInventory().add(first);
+        hero.getInventory().add(second);
+
+        assertEquals(Map.of("Sword", 3), SaveGame.HeroState.of(hero).inventory());
+    }
+
+    private static SaveGame sample() {
+        Map<Long, Byte> edits = new LinkedHashMap<>();
+        edits.put(5L, (byte) 1);
+        edits.put(42L, (byte) 2);
+        return new SaveGame(8, 0x1234_5678_9ABCL, -7L, 3, 4, edits, List.of(PARZIVAL, CALIBER), 99L, 130L);
+    }
+
+    // The same layout SaveGame.encode writes, for any version; version 1 has no seed or journal sequence.
+    private static byte[] encode(SaveGame save, int version) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(SaveGame.MAGIC);
+            out.writeInt(version);
+            out.writeInt(save.mapSize());
+            out.writeLong(save.mapSeed());
+            out.writeLong(save.zoneSeed());
+            out.writeInt(save.heroRow());
+            out.writeInt(save.heroCol());
+            out.writeInt(save.edits().size());
+            for (Map.Entry<Long, Byte> edit : save.edits().entrySet()) {
+                out.writeLong(edit.getKey());
+                out.writeByte(edit.getValue());
+            }
+            out.writeByte(save.heroes().size());
+            for (SaveGame.HeroState h : save.heroes()) {
+                CatalogCodec.writeString(out, h.name());
+                for (int stat : new int[] {h.level(), h.health(), h.maxHealth(), h.mana(), h.maxMana(), h.strength(),
+                        h.dexterity(), h.agility(), h.gold(), h.experience()}) {
+                    out.writeInt(stat);
+                }
+                out.writeShort(h.inventory().size());
+                for (Map.Entry<String, Integer> stack : h.inventory().entrySet()) {
+                    CatalogCodec.writeString(out, stack.getKey());
+                    out.writeInt(stack.getValue());
+                }
+                CatalogCodec.writeString(out, h.weapon() != null ? h.weapon() : "");
+                CatalogCodec.writeString(out, h.armor() != null ? h.armor() : "");
+            }
+            if (version >= 2) {
+                out.writeLong(save.seed());
+                out.writeLong(save.journalSequence());
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            out.writeLong(crc.getValue());
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,47 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class ZoneMapTest {
+    private static final List<Zone> ZONES = List.of(
+            new Zone("Heartland", 30, 1, 10, 1, 1, 1),
+            new Zone("Old_Forest", 30, 2, 10, 1, 2, 3),
+            new Zone("Haunted_Moor", 35, 3, 10, 1, 1, 5),
+            new Zone("Iron_Wastes", 35, 5, 10, 1, 5, 1),
+            new Zone("Dragon_Peaks", 45, 7, 10, 5, 1, 1));
+
+    @Test
+    void defaultMapSpansSeveralZones() {
+        for (long seed = 0; seed < 16; seed++) {
+            ZoneMap zones = new ZoneMap(8, 0, 0, seed);
+            Set<Zone> seen = new HashSet<>();
+            for (int row = 0; row < 8; row++) {
+                for (int col = 0; col < 8; col++) {
+                    seen.add(zones.zoneAt(row, col, ZONES));
+                }
+            }
+            assertTrue(seen.size() > 1, "seed " + seed + " only produced " + seen);
+            assertEquals(ZONES.get(0), zones.zoneAt(0, 0, ZONES));
+        }
+    }
+
+    @Test
+    void regionSizeFollowsMapSize() {
+        assertEquals(1, new ZoneMap(3, 0, 0, 1).getRegionSize());
+        assertEquals(2, new ZoneMap(8, 0, 0, 1).getRegionSize());
+        assertEquals(4, new ZoneMap(16, 0, 0, 1).getRegionSize());
+        assertEquals(8, new ZoneMap(32, 0, 0, 1).getRegionSize());
+        assertEquals(8, new ZoneMap(2048, 0, 0, 1).getRegionSize());
+        assertEquals(16, new ZoneMap(4096, 0, 0, 1).getRegionSize());
+    }
+
+    @Test
+    void emptyZoneListIsUnzoned() {
+        assertEquals(Zone.UNZONED, new ZoneMap(8, 0, 0, 1).zoneAt(5, 5, List.of()));
+    }
+}
@@ -6,6 +6,17 @@ set -euo pipefail
 #   bash run.sh           # compile and run LegendsGame
 #   bash run.sh compile   # just compile
 #   bash run.sh run       # run after a previous compile
+#   bash run.sh run --seed 42  # replay a world from a seed
+#   bash run.sh run --watch    # hot-reload Data/*.txt edits while playing
+#   bash run.sh run --map-size 100000  # chunked, lazily generated world
+#   bash run.sh run --save legends.sav  # resume from and autosave to a file
+#   bash run.sh run --ansi     # diff-rendered map viewport for ANSI terminals
+#   bash run.sh serve --port 4000        # headless server, one game per connection
+#   bash run.sh serve --socket /tmp/legends.sock  # same, on a Unix-domain socket
+#   bash run.sh serve --metrics legends.prom      # also rewrite Prometheus metrics every 10s
+#   bash run.sh batch scripts/playthrough.txt --seed 1 --repeat 1000   # scripted, terminal-free runs
+#   bash run.sh catalog   # compile Data/*.txt into Data/catalog.bin for faster startup
+#   bash run.sh simulate [battles] [groupSize] [out.csv] [seed] [partySize]  # batch balance run
 
 ROOT_DIR="$(cd -- "$(dirname -- "${BASH_SOURCE[0]}")" && pwd)"
 SRC_DIR="${ROOT_DIR}/src"
@@ -27,7 +38,23 @@ compile() {
 }
 
 run_game() {
-  java -cp "${OUT_DIR}" LegendsGame
+  java -cp "${OUT_DIR}" LegendsGame "$@"
+}
+
+run_server() {
+  java -cp "${OUT_DIR}" GameServer "$@"
+}
+
+run_batch() {
+  java -cp "${OUT_DIR}" BatchDriver "$@"
+}
+
+compile_catalog() {
+  java -cp "${OUT_DIR}" CatalogCompiler "$@"
+}
+
+run_simulation() {
+  java -cp "${OUT_DIR}" BalanceSimulator "$@"
 }
 
 CMD="${1:-all}"
@@ -36,14 +63,30 @@ case "${CMD}" in
     compile
     ;;
   run)
-    run_game
+    run_game "${@:2}"
+    ;;
+  serve)
+    compile
+    run_server "${@:2}"
+    ;;
+  batch)
+    compile
+    run_batch "${@:2}"
+    ;;
+  catalog)
+    compile
+    compile_catalog "${@:2}"
+    ;;
+  simulate)
+    compile
+    run_simulation "${@:2}"
     ;;
   all)
     compile
     run_game
     ;;
   *)
-    echo "Unknown command. Use: compile | run | all" >&2
+    echo "Unknown command. Use: compile | run | serve | batch | catalog | simulate | all" >&2
     exit 1
     ;;
 esac
@@ -0,0 +1,91 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+// Writes saves on a background thread so the game thread only pays for SaveGame.capture. Snapshots
+// submitted while a write is in flight replace each other; only the newest one reaches the disk.
+public final class Autosaver implements AutoCloseable {
+    private final Path file;
+    private final Consumer<SaveGame> onWritten;
+    private final AtomicReference<SaveGame> pending = new AtomicReference<>();
+    private final Object lock = new Object();
+    private final Thread thread;
+    private volatile boolean closed;
+    private volatile IOException lastFailure;
+
+    public Autosaver(Path file) {
+        this(file, save -> { });
+    }
+
+    // onWritten runs on the autosave thread after each save is durable.
+    public Autosaver(Path file, Consumer<SaveGame> onWritten) {
+        if (file == null || onWritten == null) {
+            throw new IllegalArgumentException("Save file and callback are required");
+        }
+        this.file = file;
+        this.onWritten = onWritten;
+        thread = new Thread(this::drain, "autosave");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Called from the game thread only.
+    public void submit(SaveGame save) {
+        if (closed) {
+            throw new IllegalStateException("Autosaver is closed");
+        }
+        pending.set(save);
+        synchronized (lock) {
+            lock.notify();
+        }
+    }
+
+    // The most recent write failure, or null; the next successful write clears it.
+    public IOException getLastFailure() {
+        return lastFailure;
+    }
+
+    private void drain() {
+        while (true) {
+            SaveGame save = pending.getAndSet(null);
+            if (save == null) {
+                if (closed) {
+                    return;
+                }
+                synchronized (lock) {
+                    if (pending.get() == null && !closed) {
+                        try {
+                            lock.wait();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                }
+                continue;
+            }
+            try {
+                save.write(file);
+                lastFailure = null;
+                onWritten.accept(save);
+            } catch (IOException e) {
+                lastFailure = e;
+                System.err.println("Autosave failed: " + e.getMessage());
+            }
+        }
+    }
+
+    // Waits for the last submitted save to be on disk.
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (lock) {
+            lock.notify();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class BalanceSimulator {
+    private static final int MAX_ROUNDS = 1000;
+    // The game lets players field 1-3 heroes.
+    private static final int MAX_PARTY_SIZE = 3;
+
+    private final List<Hero> heroes;
+    private final List<Monster> monsters;
+    private final List<Spell> spells;
+
+    public BalanceSimulator(List<Hero> heroes, List<Monster> monsters) {
+        this(heroes, monsters, List.of());
+    }
+
+    // spells is the market's spell list; each hero casts the strongest one it could buy at its level.
+    public BalanceSimulator(List<Hero> heroes, List<Monster> monsters, List<Spell> spells) {
+        this.heroes = List.copyOf(heroes);
+        this.monsters = List.copyOf(monsters);
+        this.spells = List.copyOf(spells);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int battlesPerPairing = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int groupSize = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        Path output = args.length > 2 ? Path.of(args[2]) : null;
+        RandomSource randomSource = args.length > 3 ? new RandomSource(Long.parseLong(args[3]))
+                : RandomSource.fromEntropy();
+        int partySize = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+
+        List<Hero> heroes = new HeroFactory().loadAll(
+                Path.of("Data/Paladins.txt"),
+                Path.of("Data/Sorcerers.txt"),
+                Path.of("Data/Warriors.txt")
+        );
+        List<Monster> monsters = new MonsterFactory().loadAll(
+                Path.of("Data/Dragons.txt"),
+                Path.of("Data/Exoskeletons.txt"),
+                Path.of("Data/Spirits.txt")
+        );
+        List<Spell> spells = new MarketFactory().loadAll(
+                Path.of("Data/Weaponry.txt"),
+                Path.of("Data/Armory.txt"),
+                Path.of("Data/Potions.txt"),
+                Path.of("Data/FireSpells.txt"),
+                Path.of("Data/IceSpells.txt"),
+                Path.of("Data/LightningSpells.txt")
+        ).getSpells();
+        BalanceSimulator simulator = new BalanceSimulator(heroes, monsters, spells);
+
+        long start = System.nanoTime();
+        List<PairingResult> results = simulator.run(battlesPerPairing, groupSize, partySize, randomSource);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        if (output != null) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(output), false, StandardCharsets.UTF_8)) {
+                writeCsv(results, out);
+            }
+        } else {
+            writeCsv(results, System.out);
+        }
+        long total = (long) results.size() * battlesPerPairing;
+        System.err.printf("Simulated %d battles over %d pairings in %d ms (seed %d)%n", total, results.size(),
+                elapsedMillis, randomSource.getSeed());
+    }
+
+    public List<PairingResult> run(int battlesPerPairing, int groupSize, RandomSource randomSource) {
+        return run(battlesPerPairing, groupSize, 1, randomSource);
+    }
+
+    // Pairs every party of partySize distinct heroes with every monster group.
+    public List<PairingResult> run(int battlesPerPairing, int groupSize, int partySize, RandomSource randomSource) {
+        if (battlesPerPairing <= 0 || groupSize <= 0) {
+            throw new IllegalArgumentException("Battle count and group size must be positive");
+        }
+        if (partySize < 1 || partySize > Math.min(MAX_PARTY_SIZE, heroes.size())) {
+            throw new IllegalArgumentException("Party size must be between 1 and " + MAX_PARTY_SIZE);
+        }
+        List<List<Hero>> parties = new ArrayList<>();
+        addParties(new ArrayList<>(), 0, partySize, parties);
+        int pairings = parties.size() * monsters.size();
+        // Streams are split up front in pairing order so results do not depend on thread scheduling.
+        RandomGenerator[] streams = new RandomGenerator[pairings];
+        for (int i = 0; i < pairings; i++) {
+            streams[i] = randomSource.split();
+        }
+        return IntStream.range(0, pairings)
+                .parallel()
+                .mapToObj(i -> simulatePairing(parties.get(i / monsters.size()), monsters.get(i % monsters.size()),
+                        battlesPerPairing, groupSize, streams[i]))
+                .toList();
+    }
+
+    // Every combination of size distinct heroes, in template order.
+    private void addParties(List<Hero> party, int from, int size, List<List<Hero>> parties) {
+        if (party.size() == size) {
+            parties.add(List.copyOf(party));
+            return;
+        }
+        for (int h = from; h < heroes.size(); h++) {
+            party.add(heroes.get(h));
+            addParties(party, h + 1, size, parties);
+            party.remove(party.size() - 1);
+        }
+    }
+
+    private PairingResult simulatePairing(List<Hero> party, Monster monsterTemplate, int battles, int groupSize,
+                                          RandomGenerator random) {
+        MassBattle battle = new MassBattle(party.size(), groupSize, random);
+        Spell[] partySpells = new Spell[party.size()];
+        for (int h = 0; h < partySpells.length; h++) {
+            partySpells[h] = spellFor(party.get(h));
+        }
+        int wins = 0;
+        long rounds = 0;
+        long damageDealt = 0;
+        long damageTaken = 0;
+        for (int b = 0; b < battles; b++) {
+            battle.clear();
+            for (int h = 0; h < partySpells.length; h++) {
+                battle.addHero(party.get(h), partySpells[h]);
+            }
+            for (int i = 0; i < groupSize; i++) {
+                battle.addMonster(monsterTemplate);
+            }
+            rounds += battle.fight(MAX_ROUNDS);
+            if (battle.getAliveHeroCount() > 0) {
+                wins++;
+            }
+            damageDealt += battle.getHeroDamageDealt();
+            damageTaken += battle.getMonsterDamageDealt();
+        }
+        return new PairingResult(party, monsterTemplate, battles, wins, rounds, damageDealt, damageTaken);
+    }
+
+    // Highest-damage spell the hero carries or could buy at its level, or null if there is none.
+    private Spell spellFor(Hero hero) {
+        List<Spell> candidates = new ArrayList<>(hero.getInventory().getByType(Spell.class));
+        for (Spell spell : spells) {
+            if (spell.getRequiredLevel() <= hero.getLevel()) {
+                candidates.add(spell);
+            }
+        }
+        return candidates.stream().max(Comparator.comparingInt(Spell::getBaseDamage)).orElse(null);
+    }
+
+    // A party of several heroes is written as their names and types joined with '+'.
+    private static void writeCsv(List<PairingResult> results, PrintStream out) {
+        out.println("hero,hero_type,monster,monster_type,monster_level,battles,win_rate,avg_turns,"
+                + "avg_damage_dealt,avg_damage_taken");
+        for (PairingResult r : results) {
+            out.printf(Locale.ROOT, "%s,%s,%s,%s,%d,%d,%.4f,%.2f,%.1f,%.1f%n",
+                    join(r.party(), Hero::getName), join(r.party(), hero -> hero.getClass().getSimpleName()),
+                    r.monster().getName(), r.monster().getClass().getSimpleName(), r.monster().getLevel(),
+                    r.battles(), r.winRate(), r.averageTurns(),
+                    (double) r.damageDealt() / r.battles(), (double) r.damageTaken() / r.battles());
+        }
+    }
+
+    private static String join(List<Hero> party, Function<Hero, String> field) {
+        return party.stream().map(field).collect(Collectors.joining("+"));
+    }
+
+    public record PairingResult(List<Hero> party, Monster monster, int battles, int wins, long totalTurns,
+                                long damageDealt, long damageTaken) {
+        public double winRate() {
+            return (double) wins / battles;
+        }
+
+        public double averageTurns() {
+            return (double) totalTurns / battles;
+        }
+    }
+}
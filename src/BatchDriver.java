@@ -0,0 +1,111 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+// Plays a command script through LegendsGame with no terminal attached. Each script line is one answer
+// to a prompt; blank lines press Enter and lines starting with '#' are comments. Output is discarded
+// unless --transcript is given, and catalogs are loaded once up front, so a run measures gameplay only.
+public class BatchDriver {
+    private static final Path DATA_DIR = Path.of("Data");
+
+    private final List<String> script;
+    private final CatalogReloader catalogs;
+    private final int mapSize;
+
+    public BatchDriver(List<String> script, CatalogReloader catalogs, int mapSize) {
+        if (script == null || catalogs == null) {
+            throw new IllegalArgumentException("Script and catalogs are required");
+        }
+        if (mapSize <= 0) {
+            throw new IllegalArgumentException("Map size must be positive");
+        }
+        this.script = script.stream().filter(line -> !line.startsWith("#")).toList();
+        this.catalogs = catalogs;
+        this.mapSize = mapSize;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: BatchDriver <script> [--seed N] [--map-size N] [--repeat N] [--transcript file]");
+            return;
+        }
+        Path scriptFile = Path.of(args[0]);
+        long seed = 1;
+        int mapSize = 8;
+        int repeat = 1;
+        Path transcript = null;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--seed") && i + 1 < args.length) {
+                seed = Long.parseLong(args[++i]);
+            } else if (args[i].equals("--map-size") && i + 1 < args.length) {
+                mapSize = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--repeat") && i + 1 < args.length) {
+                repeat = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--transcript") && i + 1 < args.length) {
+                transcript = Path.of(args[++i]);
+            }
+        }
+        List<String> script = Files.readAllLines(scriptFile, StandardCharsets.UTF_8);
+        CatalogSnapshot snapshot = CatalogSnapshot.openIfPresent(CatalogSnapshot.DEFAULT_PATH);
+        CatalogReloader catalogs = new CatalogReloader(DATA_DIR, Catalog.load(DATA_DIR, snapshot));
+        BatchDriver driver = new BatchDriver(script, catalogs, mapSize);
+
+        long start = System.nanoTime();
+        int consumed = 0;
+        for (int i = 0; i < repeat; i++) {
+            if (transcript != null && i == 0) {
+                try (OutputStream file = Files.newOutputStream(transcript)) {
+                    consumed += driver.run(seed, new BufferedOutputSink(file), true);
+                }
+            } else {
+                consumed += driver.run(seed, OutputSink.NULL, false);
+            }
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+        System.out.printf("%d run(s), %d commands in %.1f ms (%.0f commands/s)%n", repeat, consumed, millis,
+                consumed / (millis / 1000.0));
+    }
+
+    // Plays the script once and returns how many lines the game read before quitting. A script that runs
+    // out first has fallen out of step with the game, so the run fails instead of counting as played.
+    public int run(long seed, OutputSink out, boolean echo) {
+        ScriptInput input = new ScriptInput(script, echo ? out : null);
+        LegendsGame game = new LegendsGame(new RandomSource(seed), out, input);
+        game.setCatalogs(catalogs);
+        game.setMapSize(mapSize);
+        game.run();
+        out.flush();
+        if (input.exhausted) {
+            throw new IllegalStateException("Script ran out after " + input.next + " lines before the game quit");
+        }
+        return input.next;
+    }
+
+    private static final class ScriptInput implements InputSource {
+        private final List<String> lines;
+        private final OutputSink echo;
+        private int next;
+        private boolean exhausted;
+
+        ScriptInput(List<String> lines, OutputSink echo) {
+            this.lines = lines;
+            this.echo = echo;
+        }
+
+        @Override
+        public String readLine() {
+            if (next == lines.size()) {
+                exhausted = true;
+                return null;
+            }
+            String line = lines.get(next++);
+            if (echo != null) {
+                echo.println(line);
+            }
+            return line;
+        }
+    }
+}
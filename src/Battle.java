@@ -1,15 +1,27 @@
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 public class Battle {
     private final Party party;
     private final List<Monster> monsters;
-    private final Random random = new Random();
+    private final BattleListener listener;
+    private final RandomGenerator random;
 
     public Battle(Party party, List<Monster> monsters) {
+        this(party, monsters, new ConsoleBattleListener());
+    }
+
+    public Battle(Party party, List<Monster> monsters, BattleListener listener) {
+        this(party, monsters, listener, new SplittableRandom());
+    }
+
+    public Battle(Party party, List<Monster> monsters, BattleListener listener, RandomGenerator random) {
         this.party = party;
         this.monsters = new ArrayList<>(monsters);
+        this.listener = listener != null ? listener : BattleListener.NONE;
+        this.random = random;
     }
 
     public boolean isOver() {
@@ -28,14 +40,13 @@ public class Battle {
         int base = hero.getStrength() + weaponDamage;
         int damage = Math.max(1, base - target.getDefense());
         if (rollDodge(target.getDodgeChance())) {
-            System.out.printf("%s attacks %s but it dodges!%n", hero.getName(), target.getName());
+            listener.onDodge(hero, target);
             return;
         }
         int before = target.getHealth();
         target.takeDamage(damage);
-        int dealt = before - target.getHealth();
-        System.out.printf("%s hits %s for %d damage (%d -> %d)%n",
-                hero.getName(), target.getName(), dealt, before, target.getHealth());
+        listener.onHit(hero, target, before - target.getHealth(), before, target.getHealth());
+        checkFaint(target);
     }
 
     public void monsterAttack(Monster monster, Hero target) {
@@ -48,14 +59,13 @@ public class Battle {
             damage = Math.max(0, damage - armor.getDamageReduction());
         }
         if (rollDodgeChance(target.getAgility())) {
-            System.out.printf("%s attacks %s but they dodge!%n", monster.getName(), target.getName());
+            listener.onDodge(monster, target);
             return;
         }
         int before = target.getHealth();
         target.takeDamage(damage);
-        int dealt = before - target.getHealth();
-        System.out.printf("%s hits %s for %d damage (%d -> %d)%n",
-                monster.getName(), target.getName(), dealt, before, target.getHealth());
+        listener.onHit(monster, target, before - target.getHealth(), before, target.getHealth());
+        checkFaint(target);
     }
 
     public void castSpell(Hero hero, Spell spell, Monster target) {
@@ -63,22 +73,20 @@ public class Battle {
             return;
         }
         if (!hero.hasManaFor(spell.getManaCost())) {
-            System.out.printf("%s lacks mana for %s.%n", hero.getName(), spell.getName());
+            listener.onInsufficientMana(hero, spell);
             return;
         }
         hero.spendMana(spell.getManaCost());
         int damage = spell.getBaseDamage() + (int) (hero.getDexterity() * 0.1);
         if (rollDodge(target.getDodgeChance())) {
-            System.out.printf("%s casts %s but %s dodges!%n", hero.getName(), spell.getName(), target.getName());
+            listener.onSpellDodged(hero, spell, target);
             return;
         }
         int before = target.getHealth();
         target.takeDamage(damage);
         applyDebuff(spell, target);
-        int dealt = before - target.getHealth();
-        System.out.printf("%s casts %s on %s for %d damage (%d -> %d) with debuff %s%n",
-                hero.getName(), spell.getName(), target.getName(), dealt, before, target.getHealth(),
-                spell.getDebuffType());
+        listener.onSpellHit(hero, spell, target, before - target.getHealth(), before, target.getHealth());
+        checkFaint(target);
     }
 
     private void applyDebuff(Spell spell, Monster target) {
@@ -93,8 +101,16 @@ public class Battle {
             }
             case LightningSpell.DEBUFF_TYPE -> target.setDodgeChance(Math.max(0, target.getDodgeChance() - amount));
             default -> {
+                return;
             }
         }
+        listener.onDebuffApplied(target, type, amount);
+    }
+
+    private void checkFaint(Entity target) {
+        if (target.isFainted()) {
+            listener.onFaint(target);
+        }
     }
 
     private boolean rollDodge(double dodgeChance) {
@@ -0,0 +1,25 @@
+public interface BattleListener {
+    BattleListener NONE = new BattleListener() {
+    };
+
+    default void onHit(Entity attacker, Entity target, int damage, int healthBefore, int healthAfter) {
+    }
+
+    default void onDodge(Entity attacker, Entity target) {
+    }
+
+    default void onSpellHit(Hero caster, Spell spell, Monster target, int damage, int healthBefore, int healthAfter) {
+    }
+
+    default void onSpellDodged(Hero caster, Spell spell, Monster target) {
+    }
+
+    default void onInsufficientMana(Hero caster, Spell spell) {
+    }
+
+    default void onDebuffApplied(Monster target, String debuffType, double amount) {
+    }
+
+    default void onFaint(Entity entity) {
+    }
+}
@@ -0,0 +1,80 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Formatter;
+
+// Collects text in a StringBuilder and encodes it to UTF-8 through one reusable byte buffer on
+// flush. Text is also flushed once the pending batch grows past FLUSH_THRESHOLD characters.
+public class BufferedOutputSink implements OutputSink {
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+    private final OutputStream out;
+    private final StringBuilder pending = new StringBuilder(4096);
+    private final Formatter formatter = new Formatter(pending);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer bytes = ByteBuffer.allocate(8192);
+
+    public BufferedOutputSink(OutputStream out) {
+        if (out == null) {
+            throw new IllegalArgumentException("Output stream is required");
+        }
+        this.out = out;
+    }
+
+    @Override
+    public void print(CharSequence text) {
+        pending.append(text);
+        flushIfFull();
+    }
+
+    @Override
+    public void printf(String format, Object... args) {
+        formatter.format(format, args);
+        flushIfFull();
+    }
+
+    @Override
+    public void flush() {
+        if (pending.length() == 0) {
+            return;
+        }
+        CharBuffer chars = CharBuffer.wrap(pending);
+        encoder.reset();
+        try {
+            CoderResult result;
+            do {
+                result = encoder.encode(chars, bytes, true);
+                drain();
+            } while (result.isOverflow());
+            while (encoder.flush(bytes).isOverflow()) {
+                drain();
+            }
+            drain();
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            pending.setLength(0);
+        }
+    }
+
+    private void flushIfFull() {
+        if (pending.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    private void drain() throws IOException {
+        bytes.flip();
+        out.write(bytes.array(), 0, bytes.limit());
+        bytes.clear();
+    }
+}
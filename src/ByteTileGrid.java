@@ -0,0 +1,90 @@
+import java.util.HashMap;
+import java.util.Map;
+
+// A fully allocated grid storing one kind byte per cell in row-major order. Market cells that open
+// the grid's primary market need no extra storage; any other market is kept in a side table.
+public class ByteTileGrid implements TileGrid {
+    private final int rows;
+    private final int cols;
+    private final byte[] kinds;
+    private final Map<Integer, MarketTile> otherMarkets = new HashMap<>();
+    private MarketTile primaryMarket;
+
+    public ByteTileGrid(int rows, int cols) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Grid must not be empty");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.kinds = new byte[Math.multiplyExact(rows, cols)];
+    }
+
+    // Wraps generated terrain in which every market cell opens the given market.
+    ByteTileGrid(int rows, int cols, byte[] kinds, MarketTile market) {
+        if (rows <= 0 || cols <= 0 || kinds.length != rows * cols) {
+            throw new IllegalArgumentException("Terrain does not match the grid size");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.kinds = kinds;
+        this.primaryMarket = market;
+    }
+
+    public static ByteTileGrid copyOf(Tile[][] tiles) {
+        if (tiles == null || tiles.length == 0 || tiles[0].length == 0) {
+            throw new IllegalArgumentException("Grid must not be empty");
+        }
+        ByteTileGrid grid = new ByteTileGrid(tiles.length, tiles[0].length);
+        for (int r = 0; r < tiles.length; r++) {
+            if (tiles[r].length != grid.cols) {
+                throw new IllegalArgumentException("Grid rows must have equal length");
+            }
+            for (int c = 0; c < grid.cols; c++) {
+                grid.setTile(r, c, tiles[r][c]);
+            }
+        }
+        return grid;
+    }
+
+    @Override
+    public void setTile(int row, int col, Tile tile) {
+        if (tile == null) {
+            throw new IllegalArgumentException("Tile is required");
+        }
+        int cell = row * cols + col;
+        kinds[cell] = tile.getKind();
+        otherMarkets.remove(cell);
+        if (tile instanceof MarketTile market) {
+            if (primaryMarket == null) {
+                primaryMarket = market;
+            } else if (market != primaryMarket) {
+                otherMarkets.put(cell, market);
+            }
+        }
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public byte getKind(int row, int col) {
+        return kinds[row * cols + col];
+    }
+
+    @Override
+    public Tile getTile(int row, int col) {
+        int cell = row * cols + col;
+        return switch (kinds[cell]) {
+            case Tile.INACCESSIBLE -> InaccessibleTile.INSTANCE;
+            case Tile.MARKET -> otherMarkets.getOrDefault(cell, primaryMarket);
+            default -> CommonTile.INSTANCE;
+        };
+    }
+}
@@ -0,0 +1,138 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Immutable view of every loaded Data/ file plus the structures derived from them. Replacing one file
+// yields a new Catalog that shares everything the change does not touch, so readers holding the old
+// instance are never affected by a reload.
+public final class Catalog {
+    private final Map<CatalogSource, List<?>> files;
+    private final List<Hero> heroes;
+    private final List<Monster> monsters;
+    private final MonsterIndex monsterIndex;
+    private final MarketFactory.Stock stock;
+    private final List<Zone> zones;
+
+    private Catalog(Map<CatalogSource, List<?>> files, List<Hero> heroes, List<Monster> monsters,
+                    MonsterIndex monsterIndex, MarketFactory.Stock stock, List<Zone> zones) {
+        this.files = files;
+        this.heroes = heroes;
+        this.monsters = monsters;
+        this.monsterIndex = monsterIndex;
+        this.stock = stock;
+        this.zones = zones;
+    }
+
+    public static Catalog load(Path dataDir, CatalogSnapshot snapshot) throws IOException {
+        Map<CatalogSource, LoadBatch.Pending<?>> pending = new EnumMap<>(CatalogSource.class);
+        Map<CatalogSource, List<?>> files = new EnumMap<>(CatalogSource.class);
+        try (LoadBatch batch = new LoadBatch()) {
+            for (CatalogSource source : CatalogSource.values()) {
+                Path path = dataDir.resolve(source.getFileName());
+                if (source.isOptional() && !Files.exists(path)) {
+                    files.put(source, List.of());
+                    continue;
+                }
+                pending.put(source, batch.submit(path, source.loader(snapshot)));
+            }
+            batch.await();
+        }
+        pending.forEach((source, p) -> files.put(source, Collections.unmodifiableList(p.get())));
+        return of(files);
+    }
+
+    public static Catalog of(Map<CatalogSource, List<?>> files) {
+        Map<CatalogSource, List<?>> copy = new EnumMap<>(files);
+        for (CatalogSource source : CatalogSource.values()) {
+            if (!copy.containsKey(source)) {
+                if (source.isOptional()) {
+                    copy.put(source, List.of());
+                    continue;
+                }
+                throw new IllegalArgumentException("Missing catalog file " + source.getFileName());
+            }
+        }
+        List<Monster> monsters = merge(copy, CatalogSource.Group.MONSTERS, Monster.class);
+        return new Catalog(copy, merge(copy, CatalogSource.Group.HEROES, Hero.class), monsters,
+                new MonsterIndex(monsters), stockOf(copy), merge(copy, CatalogSource.Group.ZONES, Zone.class));
+    }
+
+    // Only the group the file belongs to is rebuilt; the rest is shared with this catalog.
+    public Catalog with(CatalogSource source, List<?> records) {
+        for (Object record : records) {
+            if (!source.getType().isInstance(record)) {
+                throw new IllegalArgumentException(source.getFileName() + " cannot hold " + record);
+            }
+        }
+        Map<CatalogSource, List<?>> next = new EnumMap<>(files);
+        next.put(source, Collections.unmodifiableList(new ArrayList<>(records)));
+        return switch (source.getGroup()) {
+            case HEROES -> new Catalog(next, merge(next, CatalogSource.Group.HEROES, Hero.class), monsters,
+                    monsterIndex, stock, zones);
+            case MONSTERS -> {
+                List<Monster> rebuilt = merge(next, CatalogSource.Group.MONSTERS, Monster.class);
+                yield new Catalog(next, heroes, rebuilt, new MonsterIndex(rebuilt), stock, zones);
+            }
+            case MARKET -> new Catalog(next, heroes, monsters, monsterIndex, stockOf(next), zones);
+            case ZONES -> new Catalog(next, heroes, monsters, monsterIndex, stock,
+                    merge(next, CatalogSource.Group.ZONES, Zone.class));
+        };
+    }
+
+    public List<?> getFile(CatalogSource source) {
+        return files.get(source);
+    }
+
+    public List<Hero> getHeroes() {
+        return heroes;
+    }
+
+    public List<Monster> getMonsters() {
+        return monsters;
+    }
+
+    public MonsterIndex getMonsterIndex() {
+        return monsterIndex;
+    }
+
+    public MarketFactory.Stock getStock() {
+        return stock;
+    }
+
+    // Ordered from the safest zone to the most dangerous, as listed in Zones.txt.
+    public List<Zone> getZones() {
+        return zones;
+    }
+
+    private static <T> List<T> merge(Map<CatalogSource, List<?>> files, CatalogSource.Group group, Class<T> type) {
+        List<T> merged = new ArrayList<>();
+        for (CatalogSource source : CatalogSource.values()) {
+            if (source.getGroup() == group) {
+                for (Object record : files.get(source)) {
+                    merged.add(type.cast(record));
+                }
+            }
+        }
+        return Collections.unmodifiableList(merged);
+    }
+
+    private static MarketFactory.Stock stockOf(Map<CatalogSource, List<?>> files) {
+        List<Spell> spells = new ArrayList<>();
+        spells.addAll(typed(files, CatalogSource.FIRE_SPELLS, Spell.class));
+        spells.addAll(typed(files, CatalogSource.ICE_SPELLS, Spell.class));
+        spells.addAll(typed(files, CatalogSource.LIGHTNING_SPELLS, Spell.class));
+        return new MarketFactory.Stock(typed(files, CatalogSource.WEAPONS, Weapon.class),
+                typed(files, CatalogSource.ARMORS, Armor.class),
+                typed(files, CatalogSource.POTIONS, Potion.class), spells);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> typed(Map<CatalogSource, List<?>> files, CatalogSource source, Class<T> type) {
+        return (List<T>) files.get(source);
+    }
+}
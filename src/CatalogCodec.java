@@ -0,0 +1,166 @@
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+// Binary record format used by catalog snapshots. Every record starts with a one-byte tag.
+public final class CatalogCodec {
+    private static final byte HERO = 1;
+    private static final byte MONSTER = 2;
+    private static final byte WEAPON = 3;
+    private static final byte ARMOR = 4;
+    private static final byte POTION = 5;
+    private static final byte FIRE_SPELL = 6;
+    private static final byte ICE_SPELL = 7;
+    private static final byte LIGHTNING_SPELL = 8;
+    private static final byte ZONE = 9;
+
+    private CatalogCodec() {
+    }
+
+    public static void write(DataOutputStream out, Object record) throws IOException {
+        if (record instanceof Hero hero) {
+            HeroArchetype a = hero.getArchetype();
+            out.writeByte(HERO);
+            out.writeByte(a.kind().ordinal());
+            writeString(out, a.name());
+            out.writeInt(a.level());
+            out.writeInt(a.maxHealth());
+            out.writeInt(a.maxMana());
+            out.writeInt(a.strength());
+            out.writeInt(a.dexterity());
+            out.writeInt(a.agility());
+            out.writeInt(a.gold());
+            out.writeInt(a.experience());
+        } else if (record instanceof Monster monster) {
+            MonsterArchetype a = monster.getArchetype();
+            out.writeByte(MONSTER);
+            out.writeByte(a.kind().ordinal());
+            writeString(out, a.name());
+            out.writeInt(a.level());
+            out.writeInt(a.maxHealth());
+            out.writeInt(a.minDamage());
+            out.writeInt(a.maxDamage());
+            out.writeInt(a.defense());
+            out.writeDouble(a.dodgeChance());
+        } else if (record instanceof Weapon w) {
+            out.writeByte(WEAPON);
+            writeItem(out, w);
+            out.writeInt(w.getDamage());
+            out.writeInt(w.getHandsRequired());
+        } else if (record instanceof Armor a) {
+            out.writeByte(ARMOR);
+            writeItem(out, a);
+            out.writeInt(a.getDamageReduction());
+        } else if (record instanceof Potion p) {
+            out.writeByte(POTION);
+            writeItem(out, p);
+            out.writeInt(p.getEffectAmount());
+            out.writeByte(p.getAffectedStats().size());
+            for (String stat : p.getAffectedStats()) {
+                writeString(out, stat);
+            }
+        } else if (record instanceof Spell s) {
+            out.writeByte(spellTag(s));
+            writeItem(out, s);
+            out.writeInt(s.getManaCost());
+            out.writeInt(s.getBaseDamage());
+            out.writeDouble(s.getDebuffAmount());
+        } else if (record instanceof Zone z) {
+            out.writeByte(ZONE);
+            writeString(out, z.name());
+            out.writeInt(z.encounterRate());
+            out.writeInt(z.minLevel());
+            out.writeInt(z.maxLevel());
+            out.writeInt(z.dragonWeight());
+            out.writeInt(z.exoskeletonWeight());
+            out.writeInt(z.spiritWeight());
+        } else {
+            throw new IllegalArgumentException("Unsupported catalog record: " + record.getClass().getName());
+        }
+    }
+
+    public static Object read(ByteBuffer in) {
+        byte tag = in.get();
+        switch (tag) {
+            case HERO -> {
+                HeroKind kind = HeroKind.values()[in.get()];
+                return kind.create(new HeroArchetype(kind, readString(in), in.getInt(), in.getInt(), in.getInt(),
+                        in.getInt(), in.getInt(), in.getInt(), in.getInt(), in.getInt()));
+            }
+            case MONSTER -> {
+                MonsterKind kind = MonsterKind.values()[in.get()];
+                return kind.create(new MonsterArchetype(kind, readString(in), in.getInt(), in.getInt(), in.getInt(),
+                        in.getInt(), in.getInt(), in.getDouble()));
+            }
+            case WEAPON -> {
+                return new Weapon(readString(in), in.getInt(), in.getInt(), in.getInt(), in.getInt());
+            }
+            case ARMOR -> {
+                return new Armor(readString(in), in.getInt(), in.getInt(), in.getInt());
+            }
+            case POTION -> {
+                String name = readString(in);
+                int price = in.getInt();
+                int level = in.getInt();
+                int effect = in.getInt();
+                int statCount = in.get();
+                Set<String> stats = new HashSet<>();
+                for (int i = 0; i < statCount; i++) {
+                    stats.add(readString(in));
+                }
+                return new Potion(name, price, level, effect, stats);
+            }
+            case FIRE_SPELL -> {
+                return new FireSpell(readString(in), in.getInt(), in.getInt(), in.getInt(), in.getInt(),
+                        in.getDouble());
+            }
+            case ICE_SPELL -> {
+                return new IceSpell(readString(in), in.getInt(), in.getInt(), in.getInt(), in.getInt(),
+                        in.getDouble());
+            }
+            case LIGHTNING_SPELL -> {
+                return new LightningSpell(readString(in), in.getInt(), in.getInt(), in.getInt(), in.getInt(),
+                        in.getDouble());
+            }
+            case ZONE -> {
+                return new Zone(readString(in), in.getInt(), in.getInt(), in.getInt(), in.getInt(), in.getInt(),
+                        in.getInt());
+            }
+            default -> throw new IllegalStateException("Unknown catalog record tag " + tag);
+        }
+    }
+
+    private static byte spellTag(Spell spell) {
+        if (spell instanceof FireSpell) {
+            return FIRE_SPELL;
+        }
+        if (spell instanceof IceSpell) {
+            return ICE_SPELL;
+        }
+        if (spell instanceof LightningSpell) {
+            return LIGHTNING_SPELL;
+        }
+        throw new IllegalArgumentException("Unsupported spell type: " + spell.getClass().getName());
+    }
+
+    private static void writeItem(DataOutputStream out, Item item) throws IOException {
+        writeString(out, item.getName());
+        out.writeInt(item.getPrice());
+        out.writeInt(item.getRequiredLevel());
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[Short.toUnsignedInt(in.getShort())];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,26 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class CatalogCompiler {
+    public static void main(String[] args) throws IOException {
+        Path dataDir = Path.of(args.length > 0 ? args[0] : "Data");
+        Path output = args.length > 1 ? Path.of(args[1]) : dataDir.resolve(CatalogSnapshot.DEFAULT_PATH.getFileName());
+        int count = compile(dataDir, output);
+        System.out.printf("Compiled %d catalog files into %s%n", count, output);
+    }
+
+    public static int compile(Path dataDir, Path output) throws IOException {
+        Map<Path, SchemaLoader<?>> catalogs = new LinkedHashMap<>();
+        for (CatalogSource source : CatalogSource.values()) {
+            Path path = dataDir.resolve(source.getFileName());
+            if (!source.isOptional() || Files.exists(path)) {
+                catalogs.put(path, source.textLoader());
+            }
+        }
+        CatalogSnapshot.write(output, catalogs);
+        return catalogs.size();
+    }
+}
@@ -0,0 +1,23 @@
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class CatalogFormatException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final Path path;
+    private final int lineNumber;
+
+    public CatalogFormatException(Path path, int lineNumber, String message) {
+        super(path + ":" + lineNumber + ": " + message);
+        this.path = path;
+        this.lineNumber = lineNumber;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+}
@@ -0,0 +1,37 @@
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+public class CatalogLoadException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final List<Path> failedFiles;
+
+    public CatalogLoadException(Map<Path, Throwable> failures) {
+        super(describe(failures));
+        this.failedFiles = List.copyOf(failures.keySet());
+        failures.values().forEach(this::addSuppressed);
+    }
+
+    public List<Path> getFailedFiles() {
+        return failedFiles;
+    }
+
+    private static String describe(Map<Path, Throwable> failures) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(failures.size()).append(failures.size() == 1 ? " catalog file" : " catalog files")
+                .append(" failed to load:");
+        failures.forEach((path, cause) -> sb.append(System.lineSeparator()).append("  ").append(path)
+                .append(": ").append(reason(cause)));
+        return sb.toString();
+    }
+
+    private static String reason(Throwable cause) {
+        if (cause instanceof NoSuchFileException) {
+            return "file not found";
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.toString();
+    }
+}
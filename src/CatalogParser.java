@@ -0,0 +1,80 @@
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+// Pulls records out of a region of a catalog file, one line at a time. Blank lines and lines whose
+// first token contains '/' (column headers and // comments) are skipped.
+final class CatalogParser<T> {
+    private final CatalogSchema<T> schema;
+    private final Path path;
+    private final ByteBuffer data;
+    private final int regionStart;
+    private final int end;
+    private final CatalogRow row;
+    private int position;
+    private int firstLine;
+    private int linesRead;
+
+    // firstLine is the 1-based line number at regionStart, or -1 to work it out only if an error needs it.
+    CatalogParser(CatalogSchema<T> schema, Path path, ByteBuffer data, int regionStart, int end, int firstLine) {
+        this.schema = schema;
+        this.path = path;
+        this.data = data;
+        this.regionStart = regionStart;
+        this.end = end;
+        this.position = regionStart;
+        this.firstLine = firstLine;
+        this.row = new CatalogRow(this, schema.getColumns());
+    }
+
+    T next() throws CatalogFormatException {
+        while (position < end) {
+            int lineStart = position;
+            int lineEnd = lineStart;
+            while (lineEnd < end && data.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            position = lineEnd + 1;
+            linesRead++;
+            row.tokenize(data, lineStart, lineEnd);
+            if (row.size() == 0 || row.firstTokenContains((byte) '/')) {
+                continue;
+            }
+            if (row.size() < schema.getColumnCount()) {
+                throw error("expected " + schema.getColumnCount() + " columns " + schema.getColumns() + " for "
+                        + schema.getName() + ", found " + row.size());
+            }
+            try {
+                return schema.bind(row);
+            } catch (IllegalArgumentException e) {
+                throw error(e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    int position() {
+        return position;
+    }
+
+    // Line number of the next unread line, or -1 if this region's starting line has not been counted.
+    int currentLine() {
+        return firstLine < 0 ? -1 : firstLine + linesRead;
+    }
+
+    CatalogFormatException error(String message) {
+        return new CatalogFormatException(path, lineNumber(), message);
+    }
+
+    private int lineNumber() {
+        if (firstLine < 0) {
+            int line = 1;
+            for (int i = 0; i < regionStart; i++) {
+                if (data.get(i) == '\n') {
+                    line++;
+                }
+            }
+            firstLine = line;
+        }
+        return firstLine + linesRead - 1;
+    }
+}
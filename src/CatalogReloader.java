@@ -0,0 +1,100 @@
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Publishes the current Catalog and, once started, watches the data directory for edits. A changed
+// file is re-parsed on its own and swapped in with a single reference update, so readers never block
+// and never observe a partly loaded catalog. Files that fail to parse leave the previous catalog live.
+public final class CatalogReloader implements AutoCloseable {
+    private static final long SETTLE_MILLIS = 50;
+
+    private final Path dataDir;
+    private final AtomicReference<Catalog> current;
+    private WatchService watcher;
+    private Thread thread;
+
+    public CatalogReloader(Path dataDir, Catalog initial) {
+        if (dataDir == null || initial == null) {
+            throw new IllegalArgumentException("Data directory and initial catalog are required");
+        }
+        this.dataDir = dataDir;
+        this.current = new AtomicReference<>(initial);
+    }
+
+    public Catalog current() {
+        return current.get();
+    }
+
+    public synchronized void start() throws IOException {
+        if (watcher != null) {
+            return;
+        }
+        watcher = FileSystems.getDefault().newWatchService();
+        dataDir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        thread = new Thread(this::watch, "catalog-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public Catalog reload(CatalogSource source) throws IOException {
+        List<?> records = source.textLoader().load(dataDir.resolve(source.getFileName()));
+        return current.updateAndGet(catalog -> catalog.with(source, records));
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                Set<CatalogSource> changed = EnumSet.noneOf(CatalogSource.class);
+                collect(watcher.take(), changed);
+                // Editors often write a file in several steps; wait for the burst to settle.
+                WatchKey more;
+                while ((more = watcher.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    collect(more, changed);
+                }
+                for (CatalogSource source : changed) {
+                    long start = System.nanoTime();
+                    try {
+                        int count = reload(source).getFile(source).size();
+                        System.err.printf("Reloaded %s (%d records, %d ms)%n", source.getFileName(), count,
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    } catch (IOException | RuntimeException e) {
+                        System.err.println("Keeping previous " + source.getFileName() + ": " + e.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    private static void collect(WatchKey key, Set<CatalogSource> changed) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path name) {
+                CatalogSource source = CatalogSource.forFileName(name.toString());
+                if (source != null) {
+                    changed.add(source);
+                }
+            }
+        }
+        key.reset();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+            thread.interrupt();
+            watcher = null;
+        }
+    }
+}
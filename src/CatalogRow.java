@@ -0,0 +1,141 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// One tokenized line of a catalog file. Tokens are kept as offsets into the file buffer; numbers are
+// parsed straight from the bytes and strings are only materialized for text columns.
+public final class CatalogRow {
+    private final CatalogParser<?> parser;
+    private final List<String> columns;
+    private ByteBuffer data;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int count;
+
+    CatalogRow(CatalogParser<?> parser, List<String> columns) {
+        this.parser = parser;
+        this.columns = columns;
+    }
+
+    // Splits [from, to) on spaces, tabs and carriage returns.
+    void tokenize(ByteBuffer data, int from, int to) {
+        this.data = data;
+        count = 0;
+        int i = from;
+        while (i < to) {
+            while (i < to && isBlank(data.get(i))) {
+                i++;
+            }
+            if (i == to) {
+                break;
+            }
+            int start = i;
+            while (i < to && !isBlank(data.get(i))) {
+                i++;
+            }
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = start;
+            ends[count] = i;
+            count++;
+        }
+    }
+
+    boolean firstTokenContains(byte b) {
+        if (count == 0) {
+            return false;
+        }
+        for (int i = starts[0]; i < ends[0]; i++) {
+            if (data.get(i) == b) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public String text(int column) {
+        return decode(starts[column], ends[column]);
+    }
+
+    public List<String> textsFrom(int column) {
+        List<String> texts = new ArrayList<>(Math.max(0, count - column));
+        for (int i = column; i < count; i++) {
+            texts.add(text(i));
+        }
+        return texts;
+    }
+
+    public int integer(int column) throws CatalogFormatException {
+        int i = starts[column];
+        int end = ends[column];
+        boolean negative = false;
+        byte first = data.get(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+        if (i == end) {
+            throw invalid(column, "an integer");
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = data.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalid(column, "an integer");
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw invalid(column, "an integer in range");
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw invalid(column, "an integer in range");
+        }
+        return (int) value;
+    }
+
+    public double decimal(int column) throws CatalogFormatException {
+        int start = starts[column];
+        int end = ends[column];
+        for (int i = start; i < end; i++) {
+            byte b = data.get(i);
+            if ((b < '0' || b > '9') && !(i == start && (b == '-' || b == '+'))) {
+                // Fractions and exponents are rare in the data files; defer to the JDK for exact rounding.
+                try {
+                    return Double.parseDouble(text(column));
+                } catch (NumberFormatException e) {
+                    throw invalid(column, "a number");
+                }
+            }
+        }
+        return integer(column);
+    }
+
+    public CatalogFormatException error(String message) {
+        return parser.error(message);
+    }
+
+    private CatalogFormatException invalid(int column, String expected) {
+        String name = column < columns.size() ? columns.get(column) : columns.get(columns.size() - 1);
+        return parser.error("column '" + name + "' expects " + expected + ", found '" + text(column) + "'");
+    }
+
+    private String decode(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        data.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\f';
+    }
+}
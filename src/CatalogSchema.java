@@ -0,0 +1,43 @@
+import java.util.List;
+
+// Declarative description of one Data/ file: its column names and how a row binds to a constructor.
+// The last column may be variadic, in which case it soaks up all remaining tokens.
+public final class CatalogSchema<T> {
+    private final String name;
+    private final List<String> columns;
+    private final Binder<T> binder;
+
+    private CatalogSchema(String name, List<String> columns, Binder<T> binder) {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("Schema needs at least one column");
+        }
+        this.name = name;
+        this.columns = List.copyOf(columns);
+        this.binder = binder;
+    }
+
+    public static <T> CatalogSchema<T> of(String name, List<String> columns, Binder<T> binder) {
+        return new CatalogSchema<>(name, columns, binder);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    public T bind(CatalogRow row) throws CatalogFormatException {
+        return binder.bind(row);
+    }
+
+    @FunctionalInterface
+    public interface Binder<T> {
+        T bind(CatalogRow row) throws CatalogFormatException;
+    }
+}
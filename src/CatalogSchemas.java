@@ -0,0 +1,76 @@
+import java.util.HashSet;
+import java.util.List;
+
+// One schema per Data/ file type. Derived stats (hero level, monster health and damage range,
+// spell debuff strength) are computed here from the raw columns.
+public final class CatalogSchemas {
+    private static final List<String> HERO_COLUMNS =
+            List.of("name", "mana", "strength", "agility", "dexterity", "startingMoney", "startingExperience");
+    private static final List<String> MONSTER_COLUMNS =
+            List.of("name", "level", "damage", "defense", "dodgeChance");
+    private static final List<String> SPELL_COLUMNS =
+            List.of("name", "price", "requiredLevel", "damage", "manaCost");
+
+    public static final CatalogSchema<Paladin> PALADINS =
+            CatalogSchema.of("paladin", HERO_COLUMNS, row -> (Paladin) hero(HeroKind.PALADIN, row));
+    public static final CatalogSchema<Sorcerer> SORCERERS =
+            CatalogSchema.of("sorcerer", HERO_COLUMNS, row -> (Sorcerer) hero(HeroKind.SORCERER, row));
+    public static final CatalogSchema<Warrior> WARRIORS =
+            CatalogSchema.of("warrior", HERO_COLUMNS, row -> (Warrior) hero(HeroKind.WARRIOR, row));
+
+    public static final CatalogSchema<Dragon> DRAGONS =
+            CatalogSchema.of("dragon", MONSTER_COLUMNS, row -> (Dragon) monster(MonsterKind.DRAGON, row));
+    public static final CatalogSchema<Exoskeleton> EXOSKELETONS =
+            CatalogSchema.of("exoskeleton", MONSTER_COLUMNS, row -> (Exoskeleton) monster(MonsterKind.EXOSKELETON, row));
+    public static final CatalogSchema<Spirit> SPIRITS =
+            CatalogSchema.of("spirit", MONSTER_COLUMNS, row -> (Spirit) monster(MonsterKind.SPIRIT, row));
+
+    public static final CatalogSchema<Weapon> WEAPONS = CatalogSchema.of("weapon",
+            List.of("name", "price", "requiredLevel", "damage", "hands"),
+            row -> new Weapon(row.text(0), row.integer(1), row.integer(2), row.integer(3), row.integer(4)));
+    public static final CatalogSchema<Armor> ARMORS = CatalogSchema.of("armor",
+            List.of("name", "price", "requiredLevel", "damageReduction"),
+            row -> new Armor(row.text(0), row.integer(1), row.integer(2), row.integer(3)));
+    public static final CatalogSchema<Potion> POTIONS = CatalogSchema.of("potion",
+            List.of("name", "price", "requiredLevel", "effectAmount", "affectedStats..."),
+            row -> new Potion(row.text(0), row.integer(1), row.integer(2), row.integer(3),
+                    new HashSet<>(row.textsFrom(4))));
+
+    public static final CatalogSchema<FireSpell> FIRE_SPELLS = CatalogSchema.of("fire spell", SPELL_COLUMNS,
+            row -> new FireSpell(row.text(0), row.integer(1), row.integer(2), row.integer(4), row.integer(3),
+                    debuffFor(row.integer(3))));
+    public static final CatalogSchema<IceSpell> ICE_SPELLS = CatalogSchema.of("ice spell", SPELL_COLUMNS,
+            row -> new IceSpell(row.text(0), row.integer(1), row.integer(2), row.integer(4), row.integer(3),
+                    debuffFor(row.integer(3))));
+    public static final CatalogSchema<LightningSpell> LIGHTNING_SPELLS = CatalogSchema.of("lightning spell",
+            SPELL_COLUMNS,
+            row -> new LightningSpell(row.text(0), row.integer(1), row.integer(2), row.integer(4), row.integer(3),
+                    debuffFor(row.integer(3))));
+
+    public static final CatalogSchema<Zone> ZONES = CatalogSchema.of("zone",
+            List.of("name", "encounterRate", "minLevel", "maxLevel", "dragonWeight", "exoskeletonWeight",
+                    "spiritWeight"),
+            row -> new Zone(row.text(0), row.integer(1), row.integer(2), row.integer(3), row.integer(4),
+                    row.integer(5), row.integer(6)));
+
+    private CatalogSchemas() {
+    }
+
+    private static Hero hero(HeroKind kind, CatalogRow row) throws CatalogFormatException {
+        int level = 1;
+        int maxHealth = level * 100;
+        return new HeroArchetype(kind, row.text(0), level, maxHealth, row.integer(1), row.integer(2),
+                row.integer(4), row.integer(3), row.integer(5), row.integer(6)).instantiate();
+    }
+
+    private static Monster monster(MonsterKind kind, CatalogRow row) throws CatalogFormatException {
+        int level = row.integer(1);
+        int damage = row.integer(2);
+        return new MonsterArchetype(kind, row.text(0), level, level * 100, Math.max(1, damage / 2), damage,
+                row.integer(3), row.decimal(4)).instantiate();
+    }
+
+    private static double debuffFor(int damage) {
+        return damage * 0.1;
+    }
+}
@@ -0,0 +1,208 @@
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.CRC32;
+
+// Memory-mapped binary image of the Data/ catalogs produced by CatalogCompiler.
+// Layout: magic, version, section count, then per section the source file name, its size, mtime
+// and CRC32 at compile time, the record count and the payload length, followed by the payload.
+public final class CatalogSnapshot {
+    public static final int MAGIC = 0x4C4D4843; // "LMHC"
+    public static final int VERSION = 1;
+    public static final Path DEFAULT_PATH = Path.of("Data/catalog.bin");
+
+    private final Map<String, Section> sections;
+
+    private CatalogSnapshot(Map<String, Section> sections) {
+        this.sections = sections;
+    }
+
+    public static CatalogSnapshot open(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < 12 || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a catalog snapshot: " + file);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported catalog snapshot version " + version + " in " + file);
+        }
+        int count = buffer.getInt();
+        Map<String, Section> sections = new HashMap<>();
+        try {
+            for (int i = 0; i < count; i++) {
+                String name = CatalogCodec.readString(buffer);
+                long size = buffer.getLong();
+                long modified = buffer.getLong();
+                long crc = buffer.getLong();
+                int records = buffer.getInt();
+                int length = buffer.getInt();
+                ByteBuffer payload = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                sections.put(name, new Section(size, modified, crc, records, payload));
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt catalog snapshot: " + file, e);
+        }
+        return new CatalogSnapshot(Collections.unmodifiableMap(sections));
+    }
+
+    // Returns null when there is no usable snapshot; callers then parse the text files.
+    public static CatalogSnapshot openIfPresent(Path file) {
+        try {
+            return open(file);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            System.err.println("Ignoring catalog snapshot: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Lazily decoded records for the given source, or null if the snapshot has no fresh copy of it or the
+    // section holds another type; that is checked before the first record goes out, as read() would.
+    public <T> Stream<T> stream(Path source, Class<T> type) throws IOException {
+        Section section = freshSection(source);
+        if (section == null || !section.holds(type)) {
+            return null;
+        }
+        ByteBuffer in = section.payload.duplicate();
+        Spliterator<T> records = new Spliterators.AbstractSpliterator<>(section.records,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE | Spliterator.SIZED) {
+            private int remaining = section.records;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (remaining == 0) {
+                    return false;
+                }
+                remaining--;
+                Object record = CatalogCodec.read(in);
+                if (!type.isInstance(record)) {
+                    throw new IllegalStateException("Corrupt snapshot section for " + source.getFileName()
+                            + ": " + record.getClass().getSimpleName() + " among " + type.getSimpleName() + " records");
+                }
+                action.accept(type.cast(record));
+                return true;
+            }
+        };
+        return StreamSupport.stream(records, false);
+    }
+
+    // Decoded records for the given source, or null if the snapshot has no fresh copy of it.
+    public <T> List<T> read(Path source, Class<T> type) throws IOException {
+        Section section = freshSection(source);
+        if (section == null) {
+            return null;
+        }
+        ByteBuffer in = section.payload.duplicate();
+        List<T> records = new ArrayList<>(section.records);
+        for (int i = 0; i < section.records; i++) {
+            Object record = CatalogCodec.read(in);
+            if (!type.isInstance(record)) {
+                return null;
+            }
+            records.add(type.cast(record));
+        }
+        return records;
+    }
+
+    private Section freshSection(Path source) throws IOException {
+        Section section = sections.get(source.getFileName().toString());
+        return section != null && section.matches(source) ? section : null;
+    }
+
+    // Reads each source once and parses, sizes and checksums those same bytes, so an edit racing the
+    // compile can never be recorded as fresh. The mtime is taken before the read: a later edit leaves
+    // the file newer than the section, which then falls back to the checksum and is rejected.
+    public static void write(Path file, Map<Path, ? extends SchemaLoader<?>> catalogs) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(catalogs.size());
+            for (Map.Entry<Path, ? extends SchemaLoader<?>> entry : catalogs.entrySet()) {
+                Path source = entry.getKey();
+                long modified = Files.getLastModifiedTime(source).toMillis();
+                byte[] text = Files.readAllBytes(source);
+                CRC32 crc = new CRC32();
+                crc.update(text);
+                ByteArrayOutputStream payload = new ByteArrayOutputStream();
+                DataOutputStream records = new DataOutputStream(payload);
+                int count = 0;
+                try (Stream<?> stream = entry.getValue().stream(source, ByteBuffer.wrap(text))) {
+                    Iterator<?> it = stream.iterator();
+                    while (it.hasNext()) {
+                        CatalogCodec.write(records, it.next());
+                        count++;
+                    }
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                records.flush();
+                CatalogCodec.writeString(out, source.getFileName().toString());
+                out.writeLong(text.length);
+                out.writeLong(modified);
+                out.writeLong(crc.getValue());
+                out.writeInt(count);
+                out.writeInt(payload.size());
+                payload.writeTo(out);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static long checksum(Path source) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] chunk = new byte[8192];
+        try (InputStream in = Files.newInputStream(source)) {
+            int n;
+            while ((n = in.read(chunk)) > 0) {
+                crc.update(chunk, 0, n);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private record Section(long size, long modified, long crc, int records, ByteBuffer payload) {
+        // Size and mtime are checked first; a touched-but-identical file is accepted by hash.
+        boolean matches(Path source) throws IOException {
+            if (!Files.exists(source) || Files.size(source) != size) {
+                return false;
+            }
+            if (Files.getLastModifiedTime(source).toMillis() == modified) {
+                return true;
+            }
+            return checksum(source) == crc;
+        }
+
+        // Every record in a section comes from the same source, so the first one gives the type.
+        boolean holds(Class<?> type) {
+            return records == 0 || type.isInstance(CatalogCodec.read(payload.duplicate()));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+// The Data/ files that make up a catalog, in load order, with the schema and record type of each.
+public enum CatalogSource {
+    PALADINS("Paladins.txt", Group.HEROES, CatalogSchemas.PALADINS, Paladin.class),
+    SORCERERS("Sorcerers.txt", Group.HEROES, CatalogSchemas.SORCERERS, Sorcerer.class),
+    WARRIORS("Warriors.txt", Group.HEROES, CatalogSchemas.WARRIORS, Warrior.class),
+    DRAGONS("Dragons.txt", Group.MONSTERS, CatalogSchemas.DRAGONS, Dragon.class),
+    EXOSKELETONS("Exoskeletons.txt", Group.MONSTERS, CatalogSchemas.EXOSKELETONS, Exoskeleton.class),
+    SPIRITS("Spirits.txt", Group.MONSTERS, CatalogSchemas.SPIRITS, Spirit.class),
+    WEAPONS("Weaponry.txt", Group.MARKET, CatalogSchemas.WEAPONS, Weapon.class),
+    ARMORS("Armory.txt", Group.MARKET, CatalogSchemas.ARMORS, Armor.class),
+    POTIONS("Potions.txt", Group.MARKET, CatalogSchemas.POTIONS, Potion.class),
+    FIRE_SPELLS("FireSpells.txt", Group.MARKET, CatalogSchemas.FIRE_SPELLS, FireSpell.class),
+    ICE_SPELLS("IceSpells.txt", Group.MARKET, CatalogSchemas.ICE_SPELLS, IceSpell.class),
+    LIGHTNING_SPELLS("LightningSpells.txt", Group.MARKET, CatalogSchemas.LIGHTNING_SPELLS, LightningSpell.class),
+    // Optional: without Zones.txt the whole map stays Zone.UNZONED.
+    ZONES("Zones.txt", Group.ZONES, CatalogSchemas.ZONES, Zone.class, true);
+
+    public enum Group { HEROES, MONSTERS, MARKET, ZONES }
+
+    private final String fileName;
+    private final Group group;
+    private final CatalogSchema<?> schema;
+    private final Class<?> type;
+    private final boolean optional;
+
+    <T> CatalogSource(String fileName, Group group, CatalogSchema<T> schema, Class<T> type) {
+        this(fileName, group, schema, type, false);
+    }
+
+    <T> CatalogSource(String fileName, Group group, CatalogSchema<T> schema, Class<T> type, boolean optional) {
+        this.fileName = fileName;
+        this.group = group;
+        this.schema = schema;
+        this.type = type;
+        this.optional = optional;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public Group getGroup() {
+        return group;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    // A missing optional file loads as an empty list instead of failing the catalog.
+    public boolean isOptional() {
+        return optional;
+    }
+
+    public static CatalogSource forFileName(String fileName) {
+        for (CatalogSource source : values()) {
+            if (source.fileName.equals(fileName)) {
+                return source;
+            }
+        }
+        return null;
+    }
+
+    public SchemaLoader<?> textLoader() {
+        return new SchemaLoader<>(schema);
+    }
+
+    public DataLoader<?> loader(CatalogSnapshot snapshot) {
+        return wrap(snapshot, schema, type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> DataLoader<T> wrap(CatalogSnapshot snapshot, CatalogSchema<T> schema, Class<?> type) {
+        return SnapshotLoader.wrap(snapshot, new SchemaLoader<>(schema), (Class<T>) type);
+    }
+}
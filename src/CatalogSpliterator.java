@@ -0,0 +1,74 @@
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+// Splits a catalog buffer at line boundaries so large files can be parsed by a parallel stream.
+final class CatalogSpliterator<T> implements Spliterator<T> {
+    private static final int MIN_SPLIT_BYTES = 64 * 1024;
+    private static final int ESTIMATED_LINE_BYTES = 32;
+
+    private final CatalogSchema<T> schema;
+    private final Path path;
+    private final ByteBuffer data;
+    private final int end;
+    private CatalogParser<T> parser;
+
+    CatalogSpliterator(CatalogSchema<T> schema, Path path, ByteBuffer data) {
+        this(schema, path, data, 0, data.limit(), 1);
+    }
+
+    private CatalogSpliterator(CatalogSchema<T> schema, Path path, ByteBuffer data, int start, int end,
+                               int firstLine) {
+        this.schema = schema;
+        this.path = path;
+        this.data = data;
+        this.end = end;
+        this.parser = new CatalogParser<>(schema, path, data, start, end, firstLine);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        T record;
+        try {
+            record = parser.next();
+        } catch (CatalogFormatException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (record == null) {
+            return false;
+        }
+        action.accept(record);
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        int start = parser.position();
+        if (end - start < MIN_SPLIT_BYTES) {
+            return null;
+        }
+        int mid = start + (end - start) / 2;
+        while (mid < end && data.get(mid - 1) != '\n') {
+            mid++;
+        }
+        if (mid >= end) {
+            return null;
+        }
+        CatalogSpliterator<T> prefix = new CatalogSpliterator<>(schema, path, data, start, mid, parser.currentLine());
+        // The suffix's starting line is only counted if one of its rows turns out to be malformed.
+        parser = new CatalogParser<>(schema, path, data, mid, end, -1);
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Math.max(0, end - parser.position()) / ESTIMATED_LINE_BYTES;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+}
@@ -0,0 +1,161 @@
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// A square world split into CHUNK_SIZE x CHUNK_SIZE chunks that are generated on first access from a
+// seed derived from the world seed and the chunk coordinates, so an evicted chunk regenerates
+// identically. Tile changes go into a per-chunk overlay that outlives eviction and is reapplied when
+// the chunk is regenerated. Terrain memory is bounded by an LRU cache plus eviction of chunks beyond
+// keepRadius chunks from the party; the overlay grows only with the number of edits. Not thread-safe.
+public class ChunkedTileGrid implements TileGrid {
+    public static final int CHUNK_SIZE = 64;
+    private static final int DEFAULT_MAX_CHUNKS = 32;
+    private static final int DEFAULT_KEEP_RADIUS = 2;
+
+    private final int size;
+    private final long seed;
+    private final MarketTile market;
+    private final int keepRadius;
+    private final LinkedHashMap<Long, byte[]> chunks;
+    private final Map<Long, Map<Integer, Tile>> edits = new HashMap<>();
+
+    public ChunkedTileGrid(int size, long seed, Market market) {
+        this(size, seed, market, DEFAULT_MAX_CHUNKS, DEFAULT_KEEP_RADIUS);
+    }
+
+    public ChunkedTileGrid(int size, long seed, Market market, int maxChunks, int keepRadius) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be positive");
+        }
+        int window = 2 * keepRadius + 1;
+        if (keepRadius < 0 || maxChunks < window * window) {
+            throw new IllegalArgumentException("Cache must hold every chunk within the keep radius");
+        }
+        this.size = size;
+        this.seed = seed;
+        this.market = new MarketTile(market);
+        this.keepRadius = keepRadius;
+        this.chunks = new LinkedHashMap<>(maxChunks * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+                return size() > maxChunks;
+            }
+        };
+    }
+
+    @Override
+    public int getRows() {
+        return size;
+    }
+
+    @Override
+    public int getCols() {
+        return size;
+    }
+
+    @Override
+    public byte getKind(int row, int col) {
+        if (!isWithinBounds(row, col)) {
+            throw new IndexOutOfBoundsException("(" + row + ", " + col + ") is outside the map");
+        }
+        return chunk(row / CHUNK_SIZE, col / CHUNK_SIZE)[cell(row, col)];
+    }
+
+    // A market placed by setTile keeps its own MarketTile; generated markets share the world's.
+    @Override
+    public Tile getTile(int row, int col) {
+        return switch (getKind(row, col)) {
+            case Tile.INACCESSIBLE -> InaccessibleTile.INSTANCE;
+            case Tile.MARKET -> {
+                Map<Integer, Tile> overlay = edits.get(key(row / CHUNK_SIZE, col / CHUNK_SIZE));
+                Tile edited = overlay != null ? overlay.get(cell(row, col)) : null;
+                yield edited instanceof MarketTile ? edited : market;
+            }
+            default -> CommonTile.INSTANCE;
+        };
+    }
+
+    @Override
+    public void setTile(int row, int col, Tile tile) {
+        if (tile == null) {
+            throw new IllegalArgumentException("Tile is required");
+        }
+        if (!isWithinBounds(row, col)) {
+            throw new IndexOutOfBoundsException("(" + row + ", " + col + ") is outside the map");
+        }
+        int chunkRow = row / CHUNK_SIZE;
+        int chunkCol = col / CHUNK_SIZE;
+        edits.computeIfAbsent(key(chunkRow, chunkCol), k -> new HashMap<>()).put(cell(row, col), tile);
+        chunk(chunkRow, chunkCol)[cell(row, col)] = tile.getKind();
+    }
+
+    @Override
+    public void focus(int row, int col) {
+        int chunkRow = row / CHUNK_SIZE;
+        int chunkCol = col / CHUNK_SIZE;
+        Iterator<Long> keys = chunks.keySet().iterator();
+        while (keys.hasNext()) {
+            long key = keys.next();
+            int r = (int) (key >>> 32);
+            int c = (int) key;
+            if (Math.abs(r - chunkRow) > keepRadius || Math.abs(c - chunkCol) > keepRadius) {
+                keys.remove();
+            }
+        }
+    }
+
+    // Width of a window centered on the party that always fits in the chunk cache.
+    public int getResidentExtent() {
+        return Math.min(size, CHUNK_SIZE * 2 * keepRadius);
+    }
+
+    public int getLoadedChunkCount() {
+        return chunks.size();
+    }
+
+    private byte[] chunk(int chunkRow, int chunkCol) {
+        long key = key(chunkRow, chunkCol);
+        byte[] chunk = chunks.get(key);
+        if (chunk == null) {
+            chunk = generate(chunkRow, chunkCol);
+            Map<Integer, Tile> overlay = edits.get(key);
+            if (overlay != null) {
+                for (Map.Entry<Integer, Tile> edit : overlay.entrySet()) {
+                    chunk[edit.getKey()] = edit.getValue().getKind();
+                }
+            }
+            chunks.put(key, chunk);
+        }
+        return chunk;
+    }
+
+    private static long key(int chunkRow, int chunkCol) {
+        return ((long) chunkRow << 32) | (chunkCol & 0xFFFFFFFFL);
+    }
+
+    private static int cell(int row, int col) {
+        return (row % CHUNK_SIZE) * CHUNK_SIZE + col % CHUNK_SIZE;
+    }
+
+    // Same terrain mix as MapGenerator. Each chunk is connected on its own, and the middle cell of
+    // every edge is kept open, so neighbouring chunks always join and the whole world is one region.
+    // Cells past the map edge are generated but unreachable.
+    private byte[] generate(int chunkRow, int chunkCol) {
+        byte[] chunk = new byte[CHUNK_SIZE * CHUNK_SIZE];
+        MapGenerator.roll(chunk, 0, chunk.length, new SplittableRandom(chunkSeed(chunkRow, chunkCol)));
+        int rows = Math.min(CHUNK_SIZE, size - chunkRow * CHUNK_SIZE);
+        int cols = Math.min(CHUNK_SIZE, size - chunkCol * CHUNK_SIZE);
+        chunk[cols / 2] = Tile.COMMON;
+        chunk[(rows - 1) * CHUNK_SIZE + cols / 2] = Tile.COMMON;
+        chunk[(rows / 2) * CHUNK_SIZE] = Tile.COMMON;
+        chunk[(rows / 2) * CHUNK_SIZE + cols - 1] = Tile.COMMON;
+        MapGenerator.connect(chunk, 0, rows, cols, CHUNK_SIZE);
+        return chunk;
+    }
+
+    private long chunkSeed(int chunkRow, int chunkCol) {
+        return MapGenerator.mix(seed, key(chunkRow, chunkCol));
+    }
+}
@@ -1,7 +1,12 @@
 public class CommonTile extends Tile {
+    public static final CommonTile INSTANCE = new CommonTile();
 
-    public CommonTile(int row, int col) {
-        super(row, col);
+    private CommonTile() {
+    }
+
+    @Override
+    public byte getKind() {
+        return COMMON;
     }
 
     @Override
@@ -0,0 +1,46 @@
+public class ConsoleBattleListener implements BattleListener {
+    private final OutputSink out;
+
+    public ConsoleBattleListener() {
+        this(OutputSink.of(System.out));
+    }
+
+    public ConsoleBattleListener(OutputSink out) {
+        if (out == null) {
+            throw new IllegalArgumentException("Output sink is required");
+        }
+        this.out = out;
+    }
+
+    @Override
+    public void onHit(Entity attacker, Entity target, int damage, int healthBefore, int healthAfter) {
+        out.printf("%s hits %s for %d damage (%d -> %d)%n",
+                attacker.getName(), target.getName(), damage, healthBefore, healthAfter);
+    }
+
+    @Override
+    public void onDodge(Entity attacker, Entity target) {
+        if (target instanceof Hero) {
+            out.printf("%s attacks %s but they dodge!%n", attacker.getName(), target.getName());
+        } else {
+            out.printf("%s attacks %s but it dodges!%n", attacker.getName(), target.getName());
+        }
+    }
+
+    @Override
+    public void onSpellHit(Hero caster, Spell spell, Monster target, int damage, int healthBefore, int healthAfter) {
+        out.printf("%s casts %s on %s for %d damage (%d -> %d) with debuff %s%n",
+                caster.getName(), spell.getName(), target.getName(), damage, healthBefore, healthAfter,
+                spell.getDebuffType());
+    }
+
+    @Override
+    public void onSpellDodged(Hero caster, Spell spell, Monster target) {
+        out.printf("%s casts %s but %s dodges!%n", caster.getName(), spell.getName(), target.getName());
+    }
+
+    @Override
+    public void onInsufficientMana(Hero caster, Spell spell) {
+        out.printf("%s lacks mana for %s.%n", caster.getName(), spell.getName());
+    }
+}
@@ -0,0 +1,21 @@
+import java.util.concurrent.atomic.LongAdder;
+
+// Monotonic count backed by a LongAdder, so threads incrementing at once touch separate cells.
+public final class Counter {
+    private final LongAdder adder = new LongAdder();
+
+    public void increment() {
+        adder.increment();
+    }
+
+    public void add(long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Counters only go up");
+        }
+        adder.add(amount);
+    }
+
+    public long get() {
+        return adder.sum();
+    }
+}
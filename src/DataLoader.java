@@ -1,7 +1,20 @@
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public interface DataLoader<T> {
-    List<T> load(Path path) throws IOException;
+    // Lazily parsed records; close the stream when done. Parse errors surface as UncheckedIOException.
+    Stream<T> stream(Path path) throws IOException;
+
+    default List<T> load(Path path) throws IOException {
+        try (Stream<T> records = stream(path)) {
+            return records.collect(Collectors.toCollection(ArrayList::new));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
 }
@@ -1,6 +1,11 @@
 public class Dragon extends Monster {
 
     public Dragon(String name, int level, int maxHealth, int minDamage, int maxDamage, int defense, double dodgeChance) {
-        super(name, level, maxHealth, minDamage, maxDamage, defense, dodgeChance);
+        this(new MonsterArchetype(MonsterKind.DRAGON, name, level, maxHealth, minDamage, maxDamage, defense,
+                dodgeChance));
+    }
+
+    public Dragon(MonsterArchetype archetype) {
+        super(archetype);
     }
 }
@@ -50,6 +50,10 @@ public abstract class Entity {
         }
     }
 
+    protected void setHealth(int health) {
+        this.health = Math.max(0, Math.min(maxHealth, health));
+    }
+
     public boolean isFainted() {
         return health <= 0;
     }
@@ -1,6 +1,11 @@
 public class Exoskeleton extends Monster {
 
     public Exoskeleton(String name, int level, int maxHealth, int minDamage, int maxDamage, int defense, double dodgeChance) {
-        super(name, level, maxHealth, minDamage, maxDamage, defense, dodgeChance);
+        this(new MonsterArchetype(MonsterKind.EXOSKELETON, name, level, maxHealth, minDamage, maxDamage, defense,
+                dodgeChance));
+    }
+
+    public Exoskeleton(MonsterArchetype archetype) {
+        super(archetype);
     }
 }
@@ -1,25 +1,98 @@
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 public class GameMap {
-    private final Tile[][] grid;
+    // Maps up to this size are generated eagerly (one byte per cell); larger ones are chunked and
+    // generated on demand.
+    public static final int MAX_EAGER_SIZE = 4096;
+    public static final int VIEWPORT = 15;
+
+    private final TileGrid grid;
+    private final List<TileListener> tileListeners = new ArrayList<>();
+    // Kinds set through setTile since generation, keyed by row << 32 | col, so a save can replay them.
+    private final Map<Long, Byte> edits = new LinkedHashMap<>();
     private int heroRow;
     private int heroCol;
-    private final Random random = new Random();
 
     public GameMap(int size, Tile[][] grid, int startRow, int startCol) {
-        if (size <= 0 || grid == null || grid.length != size || grid[0].length != size) {
+        this(checkedGrid(size, grid), startRow, startCol);
+    }
+
+    public GameMap(TileGrid grid, int startRow, int startCol) {
+        if (grid == null) {
             throw new IllegalArgumentException("Invalid map configuration");
         }
         this.grid = grid;
-        if (!isWithinBounds(startRow, startCol) || !grid[startRow][startCol].isAccessible()) {
+        if (!grid.isWithinBounds(startRow, startCol) || !grid.getTile(startRow, startCol).isAccessible()) {
             throw new IllegalArgumentException("Invalid start position");
         }
         this.heroRow = startRow;
         this.heroCol = startCol;
+        grid.focus(startRow, startCol);
+    }
+
+    private static TileGrid checkedGrid(int size, Tile[][] grid) {
+        if (size <= 0 || grid == null || grid.length != size || grid[0].length != size) {
+            throw new IllegalArgumentException("Invalid map configuration");
+        }
+        return ByteTileGrid.copyOf(grid);
     }
 
     public Tile getCurrentTile() {
-        return grid[heroRow][heroCol];
+        return grid.getTile(heroRow, heroCol);
+    }
+
+    public int getSize() {
+        return grid.getRows();
+    }
+
+    public byte getKind(int row, int col) {
+        return grid.getKind(row, col);
+    }
+
+    public TileGrid getGrid() {
+        return grid;
+    }
+
+    public void addTileListener(TileListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener is required");
+        }
+        tileListeners.add(listener);
+    }
+
+    public void setTile(int row, int col, Tile tile) {
+        if (!grid.isWithinBounds(row, col) || tile == null) {
+            throw new IllegalArgumentException("Invalid tile change");
+        }
+        if (row == heroRow && col == heroCol && !tile.isAccessible()) {
+            throw new IllegalArgumentException("Cannot block the hero's tile");
+        }
+        byte before = grid.getKind(row, col);
+        grid.setTile(row, col, tile);
+        edits.put(((long) row << 32) | col, tile.getKind());
+        for (TileListener listener : tileListeners) {
+            listener.onTileChanged(row, col, before, tile.getKind());
+        }
+    }
+
+    public Map<Long, Byte> getEdits() {
+        return Collections.unmodifiableMap(edits);
+    }
+
+    // Puts the party on any accessible tile, e.g. when restoring a save.
+    public void placeHero(int row, int col) {
+        if (!grid.isWithinBounds(row, col) || !grid.getTile(row, col).isAccessible()) {
+            throw new IllegalArgumentException("Invalid hero position");
+        }
+        heroRow = row;
+        heroCol = col;
+        grid.focus(row, col);
     }
 
     public int getHeroRow() {
@@ -33,31 +106,34 @@ public class GameMap {
     public boolean move(int dRow, int dCol) {
         int newRow = heroRow + dRow;
         int newCol = heroCol + dCol;
-        if (!isWithinBounds(newRow, newCol)) {
+        if (!grid.isWithinBounds(newRow, newCol)) {
             return false;
         }
-        Tile destination = grid[newRow][newCol];
+        Tile destination = grid.getTile(newRow, newCol);
         if (!destination.isAccessible()) {
             return false;
         }
         heroRow = newRow;
         heroCol = newCol;
+        grid.focus(heroRow, heroCol);
         return true;
     }
 
-    private boolean isWithinBounds(int row, int col) {
-        return row >= 0 && col >= 0 && row < grid.length && col < grid[0].length;
+    public void render() {
+        OutputSink out = OutputSink.of(System.out);
+        render(out);
+        out.flush();
     }
 
-    public void render() {
+    public void render(OutputSink out) {
         final String RESET = "\u001B[0m";
         final String CYAN = "\u001B[36m";
         final String GREEN = "\u001B[32m";
         final String RED = "\u001B[31m";
         final String YELLOW = "\u001B[33m";
 
-        System.out.println(CYAN + "=== WORLD MAP ===" + RESET);
-        System.out.println("Legend: "
+        out.println(CYAN + "=== WORLD MAP ===" + RESET);
+        out.println("Legend: "
                 + YELLOW + "H=Hero " + RESET
                 + GREEN + "M=Market " + RESET
                 + RED + "X=Blocked " + RESET
@@ -75,35 +151,45 @@ public class GameMap {
         final String HOR = "─";
         final String VER = "│";
 
-        int cols = grid[0].length;
+        // Large maps show a window around the hero; small ones fit entirely.
+        int rows = Math.min(VIEWPORT, grid.getRows());
+        int cols = Math.min(VIEWPORT, grid.getCols());
+        int firstRow = viewportStart(heroRow, rows, grid.getRows());
+        int firstCol = viewportStart(heroCol, cols, grid.getCols());
         String top = TL + repeat(HOR, 3, cols, T) + TR;
         String mid = L + repeat(HOR, 3, cols, CROSS) + R;
         String bot = BL + repeat(HOR, 3, cols, B) + BR;
 
-        System.out.println(top);
-        for (int r = 0; r < grid.length; r++) {
+        out.println(top);
+        for (int r = firstRow; r < firstRow + rows; r++) {
             StringBuilder rowBuilder = new StringBuilder();
             rowBuilder.append(VER);
-            for (int c = 0; c < grid[r].length; c++) {
+            for (int c = firstCol; c < firstCol + cols; c++) {
                 String cell;
+                byte kind = grid.getKind(r, c);
                 if (r == heroRow && c == heroCol) {
                     cell = YELLOW + "H" + RESET;
-                } else if (grid[r][c] instanceof MarketTile) {
+                } else if (kind == Tile.MARKET) {
                     cell = GREEN + "M" + RESET;
-                } else if (grid[r][c] instanceof InaccessibleTile) {
+                } else if (kind == Tile.INACCESSIBLE) {
                     cell = RED + "X" + RESET;
                 } else {
                     cell = "C";
                 }
                 rowBuilder.append(" ").append(cell).append(" ").append(VER);
             }
-            System.out.println(rowBuilder);
-            if (r < grid.length - 1) {
-                System.out.println(mid);
+            out.println(rowBuilder);
+            if (r < firstRow + rows - 1) {
+                out.println(mid);
             }
         }
-        System.out.println(bot);
-        System.out.println(CYAN + "Controls:\n   W/A/S/D move\n   M map\n   I inventory\n   B back\n   Q quit" + RESET);
+        out.println(bot);
+        out.println(CYAN + "Controls:\n   W/A/S/D move\n   G travel\n   M map\n   I inventory\n   B back\n   Q quit" + RESET);
+    }
+
+    // First row or column of a window of the given extent centered on the hero, clamped to the map.
+    static int viewportStart(int hero, int extent, int size) {
+        return Math.max(0, Math.min(hero - extent / 2, size - extent));
     }
 
     private String repeat(String fill, int count, int cells, String junction) {
@@ -117,76 +203,74 @@ public class GameMap {
         return sb.toString();
     }
 
+    public static GameMap generate(int size, Market market, RandomGenerator rand) {
+        return generate(size, market, rand.nextLong());
+    }
+
+    // The same size and seed always produce the same map.
+    public static GameMap generate(int size, Market market, long seed) {
+        if (size <= MAX_EAGER_SIZE) {
+            return generateDefault(size, market, seed);
+        }
+        return generateChunked(size, market, seed);
+    }
+
+    public static GameMap generateChunked(int size, Market market, long seed) {
+        ChunkedTileGrid grid = new ChunkedTileGrid(size, seed, market);
+        int[] start = findStart(grid);
+        if (start == null) {
+            throw new IllegalStateException("No accessible start position in a " + size + "x" + size + " map");
+        }
+        return new GameMap(grid, start[0], start[1]);
+    }
+
     public static GameMap generateDefault(int size, Market market) {
-        if (size <= 0) {
-            throw new IllegalArgumentException("Size must be positive");
-        }
-        Tile[][] grid = new Tile[size][size];
-        Random rand = new Random();
-
-        while (true) {
-            for (int r = 0; r < size; r++) {
-                for (int c = 0; c < size; c++) {
-                    int roll = rand.nextInt(100);
-                    if (roll < 5) {
-                        grid[r][c] = new InaccessibleTile(r, c);
-                    } else if (roll < 15) {
-                        grid[r][c] = new MarketTile(r, c, market);
-                    } else {
-                        grid[r][c] = new CommonTile(r, c);
-                    }
-                }
-            }
+        return generateDefault(size, market, new SplittableRandom());
+    }
 
-            // ensure start position is accessible with at least two accessible neighbors
-            int startRow = -1;
-            int startCol = -1;
-            outer:
-            for (int r = 0; r < size; r++) {
-                for (int c = 0; c < size; c++) {
-                    if (!grid[r][c].isAccessible()) {
-                        continue;
-                    }
-                    if (countAccessibleNeighbors(grid, r, c) >= 2) {
-                        startRow = r;
-                        startCol = c;
-                        break outer;
-                    }
-                }
-            }
+    public static GameMap generateDefault(int size, Market market, RandomGenerator rand) {
+        return generateDefault(size, market, rand.nextLong());
+    }
 
-            if (startRow == -1) {
-                continue; // regenerate
-            }
+    private static GameMap generateDefault(int size, Market market, long seed) {
+        ByteTileGrid grid = MapGenerator.generate(size, market, seed);
+        int[] start = findStart(grid);
+        if (start == null) {
+            // Only a 1x1 map can be fully blocked; every other map has an open region.
+            grid.setTile(0, 0, CommonTile.INSTANCE);
+            start = new int[] {0, 0};
+        }
+        return new GameMap(grid, start[0], start[1]);
+    }
 
-            // If start tile lacks neighbors, adjust surrounding tiles to be accessible
-            int neighbors = countAccessibleNeighbors(grid, startRow, startCol);
-            if (neighbors < 2) {
-                int[][] dirs = {{1,0},{-1,0},{0,1},{0,-1}};
-                for (int[] d : dirs) {
-                    int nr = startRow + d[0];
-                    int nc = startCol + d[1];
-                    if (nr >= 0 && nc >= 0 && nr < size && nc < size) {
-                        grid[nr][nc] = new CommonTile(nr, nc);
-                    }
-                    if (countAccessibleNeighbors(grid, startRow, startCol) >= 2) {
-                        break;
-                    }
+    // First accessible cell in row order with at least two accessible neighbours, else the first
+    // accessible cell, else null. The generators keep all accessible cells connected, so any start works.
+    private static int[] findStart(TileGrid grid) {
+        int[] fallback = null;
+        for (int r = 0; r < grid.getRows(); r++) {
+            for (int c = 0; c < grid.getCols(); c++) {
+                if (!Tile.isAccessible(grid.getKind(r, c))) {
+                    continue;
+                }
+                if (countAccessibleNeighbors(grid, r, c) >= 2) {
+                    return new int[] {r, c};
+                }
+                if (fallback == null) {
+                    fallback = new int[] {r, c};
                 }
             }
-
-            return new GameMap(size, grid, startRow, startCol);
         }
+        return fallback;
     }
 
-    private static int countAccessibleNeighbors(Tile[][] grid, int r, int c) {
+    private static int countAccessibleNeighbors(TileGrid grid, int r, int c) {
         int count = 0;
         int[][] dirs = {{1,0},{-1,0},{0,1},{0,-1}};
         for (int[] d : dirs) {
             int nr = r + d[0];
             int nc = c + d[1];
-            if (nr >= 0 && nc >= 0 && nr < grid.length && nc < grid[0].length) {
-                if (grid[nr][nc].isAccessible()) {
+            if (grid.isWithinBounds(nr, nc)) {
+                if (Tile.isAccessible(grid.getKind(nr, nc))) {
                     count++;
                 }
             }
@@ -0,0 +1,96 @@
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+// The metrics every game in this JVM records into. They are process-wide, so the sessions of a
+// GameServer add up to one set of numbers, the way a Prometheus scrape expects.
+public final class GameMetrics {
+    public static final MetricsRegistry REGISTRY = new MetricsRegistry();
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    public static final Counter BATTLES_STARTED =
+            REGISTRY.counter("legends_battles_started_total", "Battles started.");
+    public static final Counter BATTLES_WON = REGISTRY.counter("legends_battles_won_total", "Battles won by the party.");
+    public static final Counter BATTLES_LOST =
+            REGISTRY.counter("legends_battles_lost_total", "Battles that defeated the party.");
+    public static final Histogram BATTLE_TURNS =
+            REGISTRY.histogram("legends_battle_turns", "Rounds fought per battle.", 1);
+    public static final Histogram HERO_ATTACK_DAMAGE = damage("hero_attack");
+    public static final Histogram SPELL_DAMAGE = damage("spell");
+    public static final Histogram MONSTER_ATTACK_DAMAGE = damage("monster_attack");
+    public static final Histogram SPAWN_SECONDS =
+            REGISTRY.histogram("legends_spawn_lookup_seconds", "Time to pick and spawn an encounter's monsters.",
+                    NANOS_PER_SECOND);
+    public static final Counter MARKET_BUYS = market("buy");
+    public static final Counter MARKET_SELLS = market("sell");
+
+    private static final Map<LegendsGame.GameState, Histogram> COMMAND_SECONDS =
+            new EnumMap<>(LegendsGame.GameState.class);
+
+    static {
+        for (LegendsGame.GameState state : LegendsGame.GameState.values()) {
+            COMMAND_SECONDS.put(state, REGISTRY.histogram("legends_command_seconds",
+                    "Time spent handling one input line, by the state it was read in.", NANOS_PER_SECOND,
+                    "state", state.name().toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    private GameMetrics() {
+    }
+
+    public static Histogram commandSeconds(LegendsGame.GameState state) {
+        return COMMAND_SECONDS.get(state);
+    }
+
+    private static Histogram damage(String source) {
+        return REGISTRY.histogram("legends_damage_dealt", "Damage dealt per landed hit.", 1, "source", source);
+    }
+
+    private static Counter market(String action) {
+        return REGISTRY.counter("legends_market_transactions_total", "Completed market transactions.",
+                "action", action);
+    }
+
+    // Wraps a listener so every landed hit is also recorded by source.
+    public static BattleListener recording(BattleListener delegate) {
+        return new BattleListener() {
+            @Override
+            public void onHit(Entity attacker, Entity target, int damage, int healthBefore, int healthAfter) {
+                (attacker instanceof Hero ? HERO_ATTACK_DAMAGE : MONSTER_ATTACK_DAMAGE).record(damage);
+                delegate.onHit(attacker, target, damage, healthBefore, healthAfter);
+            }
+
+            @Override
+            public void onDodge(Entity attacker, Entity target) {
+                delegate.onDodge(attacker, target);
+            }
+
+            @Override
+            public void onSpellHit(Hero caster, Spell spell, Monster target, int damage, int healthBefore,
+                                   int healthAfter) {
+                SPELL_DAMAGE.record(damage);
+                delegate.onSpellHit(caster, spell, target, damage, healthBefore, healthAfter);
+            }
+
+            @Override
+            public void onSpellDodged(Hero caster, Spell spell, Monster target) {
+                delegate.onSpellDodged(caster, spell, target);
+            }
+
+            @Override
+            public void onInsufficientMana(Hero caster, Spell spell) {
+                delegate.onInsufficientMana(caster, spell);
+            }
+
+            @Override
+            public void onDebuffApplied(Monster target, String debuffType, double amount) {
+                delegate.onDebuffApplied(target, debuffType, amount);
+            }
+
+            @Override
+            public void onFaint(Entity entity) {
+                delegate.onFaint(entity);
+            }
+        };
+    }
+}
@@ -0,0 +1,166 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Headless multi-session mode. Every connection on a local TCP port or Unix-domain socket plays its own
+// LegendsGame, reading commands from and writing text to the socket, while all sessions share one
+// loaded catalog. Each session gets a daemon thread with a small stack and small I/O buffers, so an idle
+// player costs little more than its map and party.
+public class GameServer implements AutoCloseable {
+    private static final Path DATA_DIR = Path.of("Data");
+    private static final long SESSION_STACK_SIZE = 256 * 1024;
+    private static final int INPUT_BUFFER = 256;
+
+    private final ServerSocketChannel server;
+    private final Path socketFile;
+    private final CatalogReloader catalogs;
+    private final long seed;
+    private final int mapSize;
+    private final int maxSessions;
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final AtomicLong nextSessionId = new AtomicLong();
+
+    public GameServer(SocketAddress address, CatalogReloader catalogs, long seed, int mapSize, int maxSessions)
+            throws IOException {
+        if (address == null || catalogs == null) {
+            throw new IllegalArgumentException("Address and catalogs are required");
+        }
+        if (mapSize <= 0 || maxSessions <= 0) {
+            throw new IllegalArgumentException("Map size and session limit must be positive");
+        }
+        this.catalogs = catalogs;
+        this.seed = seed;
+        this.mapSize = mapSize;
+        this.maxSessions = maxSessions;
+        if (address instanceof UnixDomainSocketAddress unix) {
+            socketFile = unix.getPath();
+            Files.deleteIfExists(socketFile);
+            server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        } else {
+            socketFile = null;
+            server = ServerSocketChannel.open();
+        }
+        server.bind(address, maxSessions);
+    }
+
+    public static void main(String[] args) throws IOException {
+        SocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 4000);
+        long seed = RandomSource.fromEntropy().getSeed();
+        int mapSize = 8;
+        int maxSessions = 4096;
+        boolean watch = false;
+        Path metricsFile = null;
+        long metricsInterval = 10;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--port") && i + 1 < args.length) {
+                address = new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(args[++i]));
+            } else if (args[i].equals("--socket") && i + 1 < args.length) {
+                address = UnixDomainSocketAddress.of(args[++i]);
+            } else if (args[i].equals("--seed") && i + 1 < args.length) {
+                seed = Long.parseLong(args[++i]);
+            } else if (args[i].equals("--map-size") && i + 1 < args.length) {
+                mapSize = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--max-sessions") && i + 1 < args.length) {
+                maxSessions = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--watch")) {
+                watch = true;
+            } else if (args[i].equals("--metrics") && i + 1 < args.length) {
+                metricsFile = Path.of(args[++i]);
+            } else if (args[i].equals("--metrics-interval") && i + 1 < args.length) {
+                metricsInterval = Long.parseLong(args[++i]);
+            }
+        }
+        CatalogSnapshot snapshot = CatalogSnapshot.openIfPresent(CatalogSnapshot.DEFAULT_PATH);
+        try (CatalogReloader catalogs = new CatalogReloader(DATA_DIR, Catalog.load(DATA_DIR, snapshot));
+             GameServer server = new GameServer(address, catalogs, seed, mapSize, maxSessions)) {
+            if (watch) {
+                catalogs.start();
+            }
+            MetricsExporter exporter = metricsFile != null
+                    ? new MetricsExporter(GameMetrics.REGISTRY, metricsFile, metricsInterval * 1000) : null;
+            try {
+                System.out.println("Serving Legends on " + server.getAddress() + " (seed " + seed + ")");
+                server.serve();
+            } finally {
+                if (exporter != null) {
+                    exporter.close();
+                }
+            }
+        }
+    }
+
+    public SocketAddress getAddress() throws IOException {
+        return server.getLocalAddress();
+    }
+
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    // Accepts connections until the server is closed.
+    public void serve() throws IOException {
+        while (true) {
+            SocketChannel channel;
+            try {
+                channel = server.accept();
+            } catch (AsynchronousCloseException e) {
+                return;
+            }
+            if (activeSessions.incrementAndGet() > maxSessions) {
+                activeSessions.decrementAndGet();
+                reject(channel);
+                continue;
+            }
+            long id = nextSessionId.incrementAndGet();
+            Thread thread = new Thread(null, () -> runSession(channel, id), "session-" + id, SESSION_STACK_SIZE);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private void runSession(SocketChannel channel, long id) {
+        try (channel) {
+            OutputSink out = new BufferedOutputSink(Channels.newOutputStream(channel));
+            InputSource in = InputSource.of(Channels.newInputStream(channel), INPUT_BUFFER);
+            LegendsGame game = new LegendsGame(new RandomSource(MapGenerator.mix(seed, id)), out, in);
+            game.setCatalogs(catalogs);
+            game.setMapSize(mapSize);
+            game.run();
+        } catch (IOException | UncheckedIOException e) {
+            // The player disconnected mid-write; nothing is left to clean up.
+        } catch (RuntimeException e) {
+            System.err.println("Session " + id + " failed: " + e);
+        } finally {
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    private static void reject(SocketChannel channel) {
+        try (channel) {
+            channel.write(ByteBuffer.wrap("Server full, try again later.\n".getBytes(StandardCharsets.UTF_8)));
+        } catch (IOException ignored) {
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        if (socketFile != null) {
+            Files.deleteIfExists(socketFile);
+        }
+    }
+}
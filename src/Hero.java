@@ -1,4 +1,5 @@
 public abstract class Hero extends Entity {
+    private final HeroArchetype archetype;
     private int mana;
     private int maxMana;
     private int strength;
@@ -9,23 +10,24 @@ public abstract class Hero extends Entity {
     private final Inventory inventory;
     private final Equipment equipment;
 
-    protected Hero(String name, int level, int maxHealth, int maxMana, int strength, int dexterity, int agility,
-                   int gold, int experience) {
-        super(name, level, maxHealth);
-        if (maxMana <= 0 || strength < 0 || dexterity < 0 || agility < 0 || gold < 0 || experience < 0) {
-            throw new IllegalArgumentException("Hero attributes must be non-negative and mana positive");
-        }
-        this.maxMana = maxMana;
+    protected Hero(HeroArchetype archetype) {
+        super(archetype.name(), archetype.level(), archetype.maxHealth());
+        this.archetype = archetype;
+        this.maxMana = archetype.maxMana();
         this.mana = maxMana;
-        this.strength = strength;
-        this.dexterity = dexterity;
-        this.agility = agility;
-        this.gold = gold;
-        this.experience = experience;
+        this.strength = archetype.strength();
+        this.dexterity = archetype.dexterity();
+        this.agility = archetype.agility();
+        this.gold = archetype.gold();
+        this.experience = archetype.experience();
         this.inventory = new Inventory();
         this.equipment = new Equipment();
     }
 
+    public HeroArchetype getArchetype() {
+        return archetype;
+    }
+
     public int getMana() {
         return mana;
     }
@@ -159,6 +161,20 @@ public abstract class Hero extends Entity {
         return equipment;
     }
 
+    // Overwrites the live stats with saved ones; inventory and equipment are restored by the caller.
+    void restore(SaveGame.HeroState state) {
+        setLevel(state.level());
+        setMaxHealth(state.maxHealth());
+        setHealth(state.health());
+        setMaxMana(state.maxMana());
+        mana = Math.max(0, Math.min(maxMana, state.mana()));
+        setStrength(state.strength());
+        setDexterity(state.dexterity());
+        setAgility(state.agility());
+        gold = Math.max(0, state.gold());
+        experience = Math.max(0, state.experience());
+    }
+
     public final void levelUp() {
         setLevel(getLevel() + 1);
         restoreFullHealth();
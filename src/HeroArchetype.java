@@ -0,0 +1,17 @@
+// Immutable starting stats of a hero as loaded from Data/; live heroes grow from these.
+public record HeroArchetype(HeroKind kind, String name, int level, int maxHealth, int maxMana, int strength,
+                            int dexterity, int agility, int gold, int experience) {
+
+    public HeroArchetype {
+        if (kind == null) {
+            throw new IllegalArgumentException("Hero kind is required");
+        }
+        if (maxMana <= 0 || strength < 0 || dexterity < 0 || agility < 0 || gold < 0 || experience < 0) {
+            throw new IllegalArgumentException("Hero attributes must be non-negative and mana positive");
+        }
+    }
+
+    public Hero instantiate() {
+        return kind.create(this);
+    }
+}
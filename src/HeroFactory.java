@@ -3,17 +3,45 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 public class HeroFactory {
-    private final PaladinLoader paladinLoader = new PaladinLoader();
-    private final SorcererLoader sorcererLoader = new SorcererLoader();
-    private final WarriorLoader warriorLoader = new WarriorLoader();
+    private final DataLoader<Paladin> paladinLoader;
+    private final DataLoader<Sorcerer> sorcererLoader;
+    private final DataLoader<Warrior> warriorLoader;
+
+    public HeroFactory() {
+        this(null);
+    }
+
+    public HeroFactory(CatalogSnapshot snapshot) {
+        paladinLoader = SnapshotLoader.wrap(snapshot, new SchemaLoader<>(CatalogSchemas.PALADINS), Paladin.class);
+        sorcererLoader = SnapshotLoader.wrap(snapshot, new SchemaLoader<>(CatalogSchemas.SORCERERS), Sorcerer.class);
+        warriorLoader = SnapshotLoader.wrap(snapshot, new SchemaLoader<>(CatalogSchemas.WARRIORS), Warrior.class);
+    }
 
     public List<Hero> loadAll(Path paladinsFile, Path sorcerersFile, Path warriorsFile) throws IOException {
-        List<Hero> heroes = new ArrayList<>();
-        heroes.addAll(paladinLoader.load(paladinsFile));
-        heroes.addAll(sorcererLoader.load(sorcerersFile));
-        heroes.addAll(warriorLoader.load(warriorsFile));
-        return Collections.unmodifiableList(heroes);
+        try (LoadBatch batch = new LoadBatch()) {
+            Supplier<List<Hero>> heroes = loadAll(batch, paladinsFile, sorcerersFile, warriorsFile);
+            batch.await();
+            return heroes.get();
+        }
+    }
+
+    public Supplier<List<Hero>> loadAll(LoadBatch batch, Path paladinsFile, Path sorcerersFile, Path warriorsFile) {
+        LoadBatch.Pending<Paladin> paladins = batch.submit(paladinsFile, paladinLoader);
+        LoadBatch.Pending<Sorcerer> sorcerers = batch.submit(sorcerersFile, sorcererLoader);
+        LoadBatch.Pending<Warrior> warriors = batch.submit(warriorsFile, warriorLoader);
+        return () -> {
+            List<Hero> heroes = new ArrayList<>();
+            heroes.addAll(paladins.get());
+            heroes.addAll(sorcerers.get());
+            heroes.addAll(warriors.get());
+            return Collections.unmodifiableList(heroes);
+        };
+    }
+
+    public Hero cloneHero(Hero template) {
+        return template.getArchetype().instantiate();
     }
 }
@@ -0,0 +1,17 @@
+import java.util.function.Function;
+
+public enum HeroKind {
+    PALADIN(Paladin::new),
+    SORCERER(Sorcerer::new),
+    WARRIOR(Warrior::new);
+
+    private final Function<HeroArchetype, Hero> constructor;
+
+    HeroKind(Function<HeroArchetype, Hero> constructor) {
+        this.constructor = constructor;
+    }
+
+    public Hero create(HeroArchetype archetype) {
+        return constructor.apply(archetype);
+    }
+}
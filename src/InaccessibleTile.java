@@ -1,7 +1,12 @@
 public class InaccessibleTile extends Tile {
+    public static final InaccessibleTile INSTANCE = new InaccessibleTile();
 
-    public InaccessibleTile(int row, int col) {
-        super(row, col);
+    private InaccessibleTile() {
+    }
+
+    @Override
+    public byte getKind() {
+        return INACCESSIBLE;
     }
 
     @Override
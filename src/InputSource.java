@@ -0,0 +1,29 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+// Where player commands come from. readLine returns null once the input is exhausted or closed.
+public interface InputSource {
+    int DEFAULT_BUFFER = 8192;
+
+    static InputSource console() {
+        return of(System.in, DEFAULT_BUFFER);
+    }
+
+    // UTF-8 lines from a stream; a small buffer keeps idle network sessions cheap.
+    static InputSource of(InputStream stream, int bufferSize) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8), bufferSize);
+        return () -> {
+            try {
+                return reader.readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    String readLine();
+}
@@ -1,35 +1,128 @@
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
+// Items are stacked: adding the same item again bumps its count instead of storing another entry.
+// Each category keeps its own bucket, so typed lookups return a live view without filtering or copying.
 public class Inventory {
-    private final List<Item> items = new ArrayList<>();
+    private static final List<Class<? extends Item>> CATEGORIES =
+            List.of(Weapon.class, Armor.class, Potion.class, Spell.class);
+    private static final ClassValue<Class<? extends Item>> CATEGORY_OF = new ClassValue<>() {
+        @Override
+        protected Class<? extends Item> computeValue(Class<?> type) {
+            for (Class<? extends Item> category : CATEGORIES) {
+                if (category.isAssignableFrom(type)) {
+                    return category;
+                }
+            }
+            return Item.class;
+        }
+    };
+
+    private final Bucket all = new Bucket();
+    private final Map<Class<? extends Item>, Bucket> buckets = new HashMap<>();
+
+    public Inventory() {
+        for (Class<? extends Item> category : CATEGORIES) {
+            buckets.put(category, new Bucket());
+        }
+    }
 
     public void add(Item item) {
         if (item != null) {
-            items.add(item);
+            all.add(item);
+            Bucket bucket = buckets.get(CATEGORY_OF.get(item.getClass()));
+            if (bucket != null) {
+                bucket.add(item);
+            }
         }
     }
 
     public boolean remove(Item item) {
-        if (item == null) {
+        if (item == null || !all.remove(item)) {
             return false;
         }
-        return items.remove(item);
+        Bucket bucket = buckets.get(CATEGORY_OF.get(item.getClass()));
+        if (bucket != null) {
+            bucket.remove(item);
+        }
+        return true;
     }
 
     public List<Item> getAll() {
-        return Collections.unmodifiableList(items);
+        return all.view;
     }
 
-    public List<Item> getByType(Class<? extends Item> type) {
-        return items.stream()
-                .filter(i -> type.isAssignableFrom(i.getClass()))
-                .collect(Collectors.toUnmodifiableList());
+    @SuppressWarnings("unchecked")
+    public <T extends Item> List<T> getByType(Class<T> type) {
+        if (type == Item.class) {
+            return (List<T>) all.view;
+        }
+        Bucket bucket = buckets.get(type);
+        if (bucket != null) {
+            return (List<T>) bucket.view;
+        }
+        Bucket enclosing = buckets.get(CATEGORY_OF.get(type));
+        List<Item> source = enclosing != null ? enclosing.view : all.view;
+        return source.stream().filter(type::isInstance).map(type::cast).toList();
     }
 
     public boolean contains(Item item) {
-        return items.contains(item);
+        return item != null && all.count(item) > 0;
+    }
+
+    public int count(Item item) {
+        return item == null ? 0 : all.count(item);
+    }
+
+    private static final class Bucket {
+        private final List<Item> items = new ArrayList<>();
+        private final List<Item> view = Collections.unmodifiableList(items);
+        private final Map<Item, Integer> slots = new HashMap<>();
+        private int[] counts = new int[8];
+
+        void add(Item item) {
+            Integer slot = slots.get(item);
+            if (slot != null) {
+                counts[slot]++;
+                return;
+            }
+            int index = items.size();
+            if (index == counts.length) {
+                counts = Arrays.copyOf(counts, index * 2);
+            }
+            items.add(item);
+            slots.put(item, index);
+            counts[index] = 1;
+        }
+
+        boolean remove(Item item) {
+            Integer slot = slots.get(item);
+            if (slot == null) {
+                return false;
+            }
+            if (--counts[slot] > 0) {
+                return true;
+            }
+            // Swap the last stack into the hole so removal stays O(1).
+            int last = items.size() - 1;
+            slots.remove(item);
+            if (slot != last) {
+                Item moved = items.get(last);
+                items.set(slot, moved);
+                counts[slot] = counts[last];
+                slots.put(moved, slot);
+            }
+            items.remove(last);
+            return true;
+        }
+
+        int count(Item item) {
+            Integer slot = slots.get(item);
+            return slot == null ? 0 : counts[slot];
+        }
     }
 }
@@ -0,0 +1,280 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+// Append-only log of every input line a session reads and every reseed of its random streams, so a
+// crashed session can be rebuilt by replaying it on top of the last save. Records are numbered in one
+// sequence and stored in segment files named after their first record. A seed record always starts a
+// new segment; once the save taken at that seed is on disk, compact() deletes the segments before it.
+// Appends are queued and written by a background thread that commits everything queued so far with
+// one write and one fsync, so the game thread never waits on the disk.
+public final class Journal implements AutoCloseable {
+    public static final byte COMMAND = 1;
+    public static final byte SEED = 2;
+
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+    private static final long SEGMENT_BYTES = 1 << 20;
+    private static final int HEADER_BYTES = 1 + Long.BYTES + Integer.BYTES;
+
+    private final Path dir;
+    private final Object lock = new Object();
+    private final List<Record> queue = new ArrayList<>();
+    private final Thread committer;
+    private long nextSequence;
+    private long compactBefore = -1;
+    private boolean closed;
+    private volatile IOException lastFailure;
+
+    // Only touched by the committer thread.
+    private FileChannel segment;
+    private Path segmentFile;
+    private long segmentSize;
+    private ByteBuffer batch = ByteBuffer.allocate(8192);
+
+    public record Record(long sequence, byte type, long seed, String command) {
+        public boolean isSeed() {
+            return type == SEED;
+        }
+    }
+
+    // New records continue the sequence after nextSequence - 1, always in a fresh segment.
+    public Journal(Path dir, long nextSequence) throws IOException {
+        if (dir == null || nextSequence < 0) {
+            throw new IllegalArgumentException("Journal directory and a non-negative sequence are required");
+        }
+        Files.createDirectories(dir);
+        this.dir = dir;
+        this.nextSequence = nextSequence;
+        committer = new Thread(this::commitLoop, "journal-" + dir.getFileName());
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    // Every intact record in sequence order. Reading stops at the first torn or corrupt record of a
+    // segment, which is where a crash interrupted the last commit.
+    public static List<Record> read(Path dir) throws IOException {
+        List<Record> records = new ArrayList<>();
+        for (Path file : segments(dir).values()) {
+            ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+            while (in.remaining() >= HEADER_BYTES + Integer.BYTES) {
+                int start = in.position();
+                byte type = in.get();
+                long sequence = in.getLong();
+                int length = in.getInt();
+                if (length < 0 || length > in.remaining() - Integer.BYTES) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                in.get(payload);
+                CRC32 crc = new CRC32();
+                crc.update(in.array(), start, HEADER_BYTES + length);
+                if (in.getInt() != (int) crc.getValue()) {
+                    break;
+                }
+                if (type == SEED && length == Long.BYTES) {
+                    records.add(new Record(sequence, SEED, ByteBuffer.wrap(payload).getLong(), null));
+                } else if (type == COMMAND) {
+                    records.add(new Record(sequence, COMMAND, 0, new String(payload, StandardCharsets.UTF_8)));
+                } else {
+                    break;
+                }
+            }
+        }
+        return records;
+    }
+
+    public static void delete(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        for (Path file : segments(dir).values()) {
+            Files.deleteIfExists(file);
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    public long appendCommand(String command) {
+        return append(COMMAND, 0, command);
+    }
+
+    public long appendSeed(long seed) {
+        return append(SEED, seed, null);
+    }
+
+    private long append(byte type, long seed, String command) {
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("Journal is closed");
+            }
+            long sequence = nextSequence++;
+            queue.add(new Record(sequence, type, seed, command));
+            lock.notify();
+            return sequence;
+        }
+    }
+
+    public long getNextSequence() {
+        synchronized (lock) {
+            return nextSequence;
+        }
+    }
+
+    // Drops every segment that ends before the given seed record; safe once a save taken there is durable.
+    public void compact(long seedSequence) {
+        synchronized (lock) {
+            compactBefore = Math.max(compactBefore, seedSequence);
+            lock.notify();
+        }
+    }
+
+    // The most recent commit failure, or null while commits succeed.
+    public IOException getLastFailure() {
+        return lastFailure;
+    }
+
+    private void commitLoop() {
+        List<Record> pending = new ArrayList<>();
+        while (true) {
+            long compact;
+            boolean last;
+            synchronized (lock) {
+                while (queue.isEmpty() && compactBefore < 0 && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                pending.addAll(queue);
+                queue.clear();
+                compact = compactBefore;
+                compactBefore = -1;
+                last = closed;
+            }
+            try {
+                commit(pending);
+                if (compact >= 0) {
+                    deleteBefore(compact);
+                }
+                lastFailure = null;
+            } catch (IOException e) {
+                lastFailure = e;
+                System.err.println("Journal commit failed: " + e.getMessage());
+            }
+            pending.clear();
+            if (last) {
+                closeSegment();
+                return;
+            }
+        }
+    }
+
+    private void commit(List<Record> records) throws IOException {
+        for (Record record : records) {
+            if (segment == null || record.isSeed() || segmentSize >= SEGMENT_BYTES) {
+                write();
+                openSegment(record.sequence());
+            }
+            byte[] payload = record.isSeed()
+                    ? ByteBuffer.allocate(Long.BYTES).putLong(record.seed()).array()
+                    : record.command().getBytes(StandardCharsets.UTF_8);
+            int size = HEADER_BYTES + payload.length + Integer.BYTES;
+            if (batch.remaining() < size) {
+                write();
+                if (batch.capacity() < size) {
+                    batch = ByteBuffer.allocate(size);
+                }
+            }
+            int start = batch.position();
+            batch.put(record.type()).putLong(record.sequence()).putInt(payload.length).put(payload);
+            CRC32 crc = new CRC32();
+            crc.update(batch.array(), start, HEADER_BYTES + payload.length);
+            batch.putInt((int) crc.getValue());
+            segmentSize += size;
+        }
+        write();
+    }
+
+    // One write and one fsync for everything batched since the last call.
+    private void write() throws IOException {
+        if (batch.position() == 0) {
+            return;
+        }
+        batch.flip();
+        while (batch.hasRemaining()) {
+            segment.write(batch);
+        }
+        segment.force(false);
+        batch.clear();
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        closeSegment();
+        segmentFile = dir.resolve(String.format("%s%016x%s", PREFIX, firstSequence, SUFFIX));
+        segment = FileChannel.open(segmentFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        segmentSize = 0;
+    }
+
+    private void closeSegment() {
+        if (segment != null) {
+            try {
+                segment.close();
+            } catch (IOException ignored) {
+            }
+            segment = null;
+        }
+    }
+
+    private void deleteBefore(long sequence) throws IOException {
+        for (Map.Entry<Long, Path> entry : segments(dir).entrySet()) {
+            Path file = entry.getValue();
+            if (entry.getKey() < sequence && !file.equals(segmentFile)) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static TreeMap<Long, Path> segments(Path dir) throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        if (!Files.isDirectory(dir)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, PREFIX + "*" + SUFFIX)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                try {
+                    files.put(Long.parseUnsignedLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()),
+                            16), file);
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        return files;
+    }
+
+    // Commits everything appended so far before returning.
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            lock.notify();
+        }
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,94 +1,324 @@
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
-import java.util.Scanner;
+import java.util.random.RandomGenerator;
 
 public class LegendsGame {
     public enum GameState { EXPLORING, MAP, MARKET, INVENTORY, BATTLE }
 
-    private final HeroFactory heroFactory = new HeroFactory();
-    private final MonsterFactory monsterFactory = new MonsterFactory();
-    private final MarketFactory marketFactory = new MarketFactory();
-    private List<Hero> heroTemplates;
-    private List<Monster> monsterPool;
+    private static final Path DATA_DIR = Path.of("Data");
+    // Journal records between snapshots; bounds how much a recovery has to replay.
+    private static final int SNAPSHOT_INTERVAL = 64;
+
+    private final HeroFactory heroFactory;
+    private MonsterFactory monsterFactory;
+    private CatalogReloader catalogs;
+    private boolean sharedCatalogs;
+    private boolean watchCatalogs;
+    private int mapSize = 8;
+    private ViewportRenderer viewport;
     private Market market;
     private Party party;
     private GameMap map;
-    private final Random random = new Random();
+    private MarketDistanceField marketField;
+    private ZoneMap zoneMap;
+    private long mapSeed;
+    private long zoneSeed;
+    private Path saveFile;
+    private Autosaver autosaver;
+    private Journal journal;
+    private long lastSnapshotSequence = -1;
+    private Iterator<Journal.Record> replay;
+    private int replayCommands;
+    private long commandStart;
+    // Whether the line being handled came from the journal. Metrics skip replayed play, including the
+    // last replayed line, which runs after the replay iterator has already been cleared.
+    private boolean replayedLine;
+    private GameState commandState;
+    private String currentZone;
+    private RandomSource randomSource;
+    private final ReplaySink out;
+    private final InputSource in;
+    private RandomGenerator random;
     private GameState state = GameState.EXPLORING;
+    private boolean running;
+
+    public LegendsGame(RandomSource randomSource) {
+        this(randomSource, OutputSink.console());
+    }
+
+    public LegendsGame(RandomSource randomSource, OutputSink out) {
+        this(randomSource, out, InputSource.console());
+    }
+
+    public LegendsGame(RandomSource randomSource, OutputSink out, InputSource in) {
+        if (out == null || in == null) {
+            throw new IllegalArgumentException("Output sink and input source are required");
+        }
+        this.out = new ReplaySink(out);
+        this.in = in;
+        this.heroFactory = new HeroFactory();
+        reseed(randomSource);
+    }
+
+    // Restarts every random stream from one source, exactly as a new game built with it would.
+    private void reseed(RandomSource source) {
+        randomSource = source;
+        random = source.split();
+        monsterFactory = new MonsterFactory(source.split());
+    }
+
+    public void setMapSize(int mapSize) {
+        if (mapSize <= 0) {
+            throw new IllegalArgumentException("Map size must be positive");
+        }
+        this.mapSize = mapSize;
+    }
+
+    // Redraw only the changed cells of a map window pinned to the top of the terminal.
+    public void setAnsiViewport(boolean enabled) {
+        this.viewport = enabled ? new ViewportRenderer(out) : null;
+    }
+
+    // Play against catalogs loaded elsewhere, e.g. shared by every session of a GameServer. They are not
+    // closed when this game ends.
+    public void setCatalogs(CatalogReloader catalogs) {
+        this.catalogs = catalogs;
+        this.sharedCatalogs = catalogs != null;
+    }
+
+    // Resume from this file if it exists, and keep it updated in the background while playing. Input is
+    // journaled next to it, so a session that dies between saves is replayed up to its last command.
+    public void setSaveFile(Path saveFile) {
+        this.saveFile = saveFile;
+    }
+
+    // Re-parse Data/ files as they are edited and swap them into the running game.
+    public void setWatchCatalogs(boolean watchCatalogs) {
+        this.watchCatalogs = watchCatalogs;
+    }
 
     public static void main(String[] args) {
-        LegendsGame game = new LegendsGame();
-        game.run();
+        RandomSource randomSource = RandomSource.fromEntropy();
+        boolean watch = false;
+        int mapSize = 8;
+        boolean ansi = false;
+        Path saveFile = null;
+        Path metricsFile = null;
+        long metricsInterval = 10;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--seed") && i + 1 < args.length) {
+                randomSource = new RandomSource(Long.parseLong(args[i + 1]));
+            } else if (args[i].equals("--map-size") && i + 1 < args.length) {
+                mapSize = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("--ansi")) {
+                ansi = true;
+            } else if (args[i].equals("--watch")) {
+                watch = true;
+            } else if (args[i].equals("--save") && i + 1 < args.length) {
+                saveFile = Path.of(args[i + 1]);
+            } else if (args[i].equals("--metrics") && i + 1 < args.length) {
+                metricsFile = Path.of(args[i + 1]);
+            } else if (args[i].equals("--metrics-interval") && i + 1 < args.length) {
+                metricsInterval = Long.parseLong(args[i + 1]);
+            }
+        }
+        LegendsGame game = new LegendsGame(randomSource);
+        game.setWatchCatalogs(watch);
+        game.setMapSize(mapSize);
+        game.setAnsiViewport(ansi);
+        game.setSaveFile(saveFile);
+        MetricsExporter exporter = metricsFile != null
+                ? new MetricsExporter(GameMetrics.REGISTRY, metricsFile, metricsInterval * 1000) : null;
+        try {
+            game.run();
+        } finally {
+            if (exporter != null) {
+                exporter.close();
+            }
+        }
     }
 
     public void run() {
         try {
             loadData();
-            printIntro();
-            selectHeroes();
-            setupMap();
+            SaveGame save = saveFile != null && Files.exists(saveFile) ? SaveGame.read(saveFile) : null;
+            if (saveFile != null) {
+                openJournal(save);
+            }
+            printIntro(save != null);
+            if (save != null) {
+                restore(save);
+            } else {
+                selectHeroes();
+                setupMap();
+            }
             gameLoop();
         } catch (IOException e) {
-            System.out.println("Failed to load game data: " + e.getMessage());
+            out.println("Failed to load game data: " + e.getMessage());
+        } catch (InputClosedException e) {
+            out.println();
+            out.println("Input closed.");
+        } finally {
+            if (autosaver != null) {
+                autosaver.close();
+            }
+            if (journal != null) {
+                journal.close();
+            }
+            out.setMuted(false);
+            out.flush();
+            if (catalogs != null && !sharedCatalogs) {
+                try {
+                    catalogs.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    // Pending output is written in one batch right before the game blocks on input. While recovering,
+    // lines come from the journal instead and are not journaled again. The time between returning a
+    // live line and the next call is that line's handling latency.
+    private String readLine() {
+        if (commandStart != 0) {
+            GameMetrics.commandSeconds(commandState).recordSince(commandStart);
+            commandStart = 0;
+        }
+        String line = nextReplayed();
+        replayedLine = line != null;
+        if (line != null) {
+            return line;
+        }
+        out.flush();
+        line = in.readLine();
+        if (line == null) {
+            throw new InputClosedException();
+        }
+        if (journal != null) {
+            journal.appendCommand(line);
+        }
+        commandState = state;
+        commandStart = System.nanoTime();
+        return line;
+    }
+
+    private void openJournal(SaveGame save) throws IOException {
+        Path dir = saveFile.resolveSibling(saveFile.getFileName() + ".journal");
+        List<Journal.Record> records = Journal.read(dir);
+        long next = records.isEmpty() ? 0 : records.get(records.size() - 1).sequence() + 1;
+        List<Journal.Record> pending = new ArrayList<>();
+        if (save != null) {
+            next = Math.max(next, save.journalSequence() + 1);
+            for (Journal.Record record : records) {
+                if (record.sequence() > save.journalSequence()) {
+                    pending.add(record);
+                }
+            }
+        } else if (!records.isEmpty() && records.get(0).isSeed()) {
+            // No save landed yet: replay the whole session from its starting seed.
+            pending.addAll(records);
+        } else {
+            Journal.delete(dir);
+            next = 0;
+        }
+        journal = new Journal(dir, next);
+        autosaver = new Autosaver(saveFile, written -> journal.compact(written.journalSequence()));
+        if (save == null && pending.isEmpty()) {
+            journal.appendSeed(randomSource.getSeed());
+        }
+        if (!pending.isEmpty()) {
+            replayCommands = (int) pending.stream().filter(record -> !record.isSeed()).count();
+            replay = pending.iterator();
+            out.setMuted(true);
+        }
+    }
+
+    private String nextReplayed() {
+        while (replay != null && replay.hasNext()) {
+            Journal.Record record = replay.next();
+            if (!replay.hasNext()) {
+                finishReplay();
+            }
+            if (!record.isSeed()) {
+                return record.command();
+            }
+            reseed(new RandomSource(record.seed()));
+        }
+        if (replay != null) {
+            finishReplay();
         }
+        return null;
     }
 
-    private void printIntro() {
-        System.out.println("====================================");
-        System.out.println("   LEGENDS: MONSTERS AND HEROES");
-        System.out.println("====================================");
-        System.out.println("Welcome! Build a team of heroes, explore the map, visit markets, and battle monsters.");
-        System.out.println();
-        System.out.println("How to play:");
-        System.out.println(" - Move: W/A/S/D");
-        System.out.println(" - Map:  M (view map)");
-        System.out.println(" - Inventory: I (view what you carry)");
-        System.out.println(" - Market: Step on M tiles to shop (list, buy, sell, b to exit)");
-        System.out.println(" - Battles: Choose actions (Attack/Spell/Potion/Equip/Skip), then target by index");
-        System.out.println(" - Quit: Q (with confirmation)");
-        System.out.println();
-        System.out.println("Press Enter to continue...");
-        new java.util.Scanner(System.in).nextLine();
+    private void finishReplay() {
+        replay = null;
+        out.setMuted(false);
+        out.printf("Recovered %d journaled command(s); you are back where you left off.%n", replayCommands);
+        if (viewport != null) {
+            viewport.invalidate();
+        }
+    }
+
+    // Reseeds the game, logs the seed, and queues a save taken at exactly that journal position.
+    private void snapshot() {
+        long seed = random.nextLong();
+        reseed(new RandomSource(seed));
+        lastSnapshotSequence = journal.appendSeed(seed);
+        autosaver.submit(SaveGame.capture(party, map, mapSeed, zoneSeed, seed, lastSnapshotSequence));
+    }
+
+    private void printIntro(boolean resuming) {
+        out.println("====================================");
+        out.println("   LEGENDS: MONSTERS AND HEROES");
+        out.println("====================================");
+        out.println("Welcome! Build a team of heroes, explore the map, visit markets, and battle monsters.");
+        out.println();
+        out.println("How to play:");
+        out.println(" - Move: W/A/S/D");
+        out.println(" - Travel: G (nearest market) or G <row> <col>");
+        out.println(" - Map:  M (view map)");
+        out.println(" - Inventory: I (view what you carry)");
+        out.println(" - Market: Step on M tiles to shop (list, buy, sell, b to exit)");
+        out.println(" - Battles: Choose actions (Attack/Spell/Potion/Equip/Skip), then target by index");
+        out.println(" - Quit: Q (with confirmation)");
+        out.println();
+        if (resuming) {
+            return;
+        }
+        out.println("World seed: " + randomSource.getSeed() + " (replay with --seed)");
+        out.println("Press Enter to continue...");
+        readLine();
     }
 
     private void loadData() throws IOException {
-        heroTemplates = heroFactory.loadAll(
-                Path.of("Data/Paladins.txt"),
-                Path.of("Data/Sorcerers.txt"),
-                Path.of("Data/Warriors.txt")
-        );
-        monsterPool = monsterFactory.loadAll(
-                Path.of("Data/Dragons.txt"),
-                Path.of("Data/Exoskeletons.txt"),
-                Path.of("Data/Spirits.txt")
-        );
-        MarketFactory.Stock stock = marketFactory.loadAll(
-                Path.of("Data/Weaponry.txt"),
-                Path.of("Data/Armory.txt"),
-                Path.of("Data/Potions.txt"),
-                Path.of("Data/FireSpells.txt"),
-                Path.of("Data/IceSpells.txt"),
-                Path.of("Data/LightningSpells.txt")
-        );
-        market = new Market(stock.getWeapons(), stock.getArmors(), stock.getPotions(), stock.getSpells());
+        if (catalogs == null) {
+            CatalogSnapshot snapshot = CatalogSnapshot.openIfPresent(CatalogSnapshot.DEFAULT_PATH);
+            catalogs = new CatalogReloader(DATA_DIR, Catalog.load(DATA_DIR, snapshot));
+        }
+        market = new Market(() -> catalogs.current().getStock());
+        if (watchCatalogs && !sharedCatalogs) {
+            catalogs.start();
+            out.println("Watching " + DATA_DIR + " for catalog changes.");
+        }
     }
 
     private void selectHeroes() {
-        Scanner scanner = new Scanner(System.in);
+        List<Hero> heroTemplates = catalogs.current().getHeroes();
         List<Hero> chosen = new ArrayList<>();
-        System.out.println("Choose 1-3 heroes by index:");
+        out.println("Choose 1-3 heroes by index:");
         for (int i = 0; i < heroTemplates.size(); i++) {
             Hero h = heroTemplates.get(i);
-            System.out.printf("%d) %s (Lvl %d) STR:%d DEX:%d AGI:%d%n", i, h.getName(), h.getLevel(),
+            out.printf("%d) %s (Lvl %d) STR:%d DEX:%d AGI:%d%n", i, h.getName(), h.getLevel(),
                     h.getStrength(), h.getDexterity(), h.getAgility());
         }
         while (chosen.size() < 3) {
-            System.out.print("Enter index (or blank to finish): ");
-            String line = scanner.nextLine().trim();
+            out.print("Enter index (or blank to finish): ");
+            String line = readLine().trim();
             if (line.isEmpty()) {
                 break;
             }
@@ -96,50 +326,63 @@ public class LegendsGame {
                 int idx = Integer.parseInt(line);
                 if (idx >= 0 && idx < heroTemplates.size()) {
                     Hero template = heroTemplates.get(idx);
-                    chosen.add(cloneHero(template));
-                    System.out.println(template.getName() + " added.");
+                    chosen.add(heroFactory.cloneHero(template));
+                    out.println(template.getName() + " added.");
                 } else {
-                    System.out.println("Invalid index.");
+                    out.println("Invalid index.");
                 }
             } catch (NumberFormatException e) {
-                System.out.println("Please enter a number.");
+                out.println("Please enter a number.");
             }
         }
         if (chosen.isEmpty()) {
-            chosen.add(cloneHero(heroTemplates.get(0)));
+            chosen.add(heroFactory.cloneHero(heroTemplates.get(0)));
         }
         party = new Party(chosen);
     }
 
-    private Hero cloneHero(Hero template) {
-        if (template instanceof Warrior w) {
-            return new Warrior(w.getName(), w.getLevel(), w.getMaxHealth(), w.getMaxMana(),
-                    w.getStrength(), w.getDexterity(), w.getAgility(), w.getGold(), w.getExperience());
-        }
-        if (template instanceof Sorcerer s) {
-            return new Sorcerer(s.getName(), s.getLevel(), s.getMaxHealth(), s.getMaxMana(),
-                    s.getStrength(), s.getDexterity(), s.getAgility(), s.getGold(), s.getExperience());
-        }
-        if (template instanceof Paladin p) {
-            return new Paladin(p.getName(), p.getLevel(), p.getMaxHealth(), p.getMaxMana(),
-                    p.getStrength(), p.getDexterity(), p.getAgility(), p.getGold(), p.getExperience());
+    private void setupMap() {
+        mapSeed = randomSource.split().nextLong();
+        map = GameMap.generate(mapSize, market, mapSeed);
+        initMap(randomSource.split().nextLong());
+    }
+
+    private void restore(SaveGame save) throws IOException {
+        if (save.journalSequence() >= 0) {
+            reseed(new RandomSource(save.seed()));
+            lastSnapshotSequence = save.journalSequence();
         }
-        throw new IllegalArgumentException("Unknown hero type");
+        party = save.restoreParty(catalogs.current(), heroFactory);
+        mapSeed = save.mapSeed();
+        map = save.restoreMap(market);
+        initMap(save.zoneSeed());
+        map.placeHero(save.heroRow(), save.heroCol());
+        marketField.follow(save.heroRow(), save.heroCol());
+        out.println("Resumed saved game from " + saveFile + ".");
     }
 
-    private void setupMap() {
-        map = GameMap.generateDefault(8, market);
+    // Hooks the per-map helpers up while the party is still on the start tile.
+    private void initMap(long zoneSeed) {
+        this.zoneSeed = zoneSeed;
+        int extent = map.getGrid() instanceof ChunkedTileGrid chunked
+                ? chunked.getResidentExtent() : MarketDistanceField.DEFAULT_EXTENT;
+        marketField = new MarketDistanceField(map.getGrid(), map.getHeroRow(), map.getHeroCol(), extent);
+        map.addTileListener(marketField);
+        zoneMap = new ZoneMap(map.getSize(), map.getHeroRow(), map.getHeroCol(), zoneSeed);
     }
 
     private void gameLoop() {
-        Scanner scanner = new Scanner(System.in);
-        System.out.println("Game start! Use W/A/S/D to move, Q to quit, M to view map.");
-        System.out.println("Use W/A/S/D to move around the world.");
-        map.render();
-        boolean running = true;
+        out.println("Game start! Use W/A/S/D to move, Q to quit, M to view map.");
+        out.println("Use W/A/S/D to move around the world.");
+        showMap();
+        running = true;
         while (running) {
-            System.out.print("> ");
-            String input = scanner.nextLine().trim().toLowerCase();
+            if (journal != null && replay == null && state == GameState.EXPLORING && (lastSnapshotSequence < 0
+                    || journal.getNextSequence() - lastSnapshotSequence > SNAPSHOT_INTERVAL)) {
+                snapshot();
+            }
+            out.print("> ");
+            String input = readLine().trim().toLowerCase();
             switch (state) {
                 case EXPLORING -> {
                     switch (input) {
@@ -149,28 +392,39 @@ public class LegendsGame {
                         case "d" -> attemptMove(0, 1);
                         case "m" -> {
                             state = GameState.MAP;
-                            map.render();
+                            if (viewport != null) {
+                                viewport.invalidate();
+                            }
+                            showMap();
                         }
                         case "i" -> {
                             state = GameState.INVENTORY;
                             showInventory();
-                            System.out.println("Inventory opened. Press B to go back.");
+                            out.println("Inventory opened. Press B to go back.");
                         }
                         case "q" -> {
-                            System.out.print("Are you sure? (y/n): ");
-                            String ans = scanner.nextLine().trim().toLowerCase();
+                            out.print("Are you sure? (y/n): ");
+                            String ans = readLine().trim().toLowerCase();
                             if (ans.equals("y")) {
                                 running = false;
                             }
                         }
-                        default -> System.out.println("Commands: W/A/S/D move, M map, I inventory, Q quit");
+                        case "g" -> travelToNearestMarket();
+                        case "metrics" -> GameMetrics.REGISTRY.report(out);
+                        default -> {
+                            if (input.startsWith("g ")) {
+                                travelTo(input.substring(2));
+                            } else {
+                                out.println("Commands: W/A/S/D move, G travel, M map, I inventory, Q quit");
+                            }
+                        }
                     }
                 }
                 case MAP -> {
                     if (input.equals("b") || input.equals("q")) {
                         state = GameState.EXPLORING;
                     } else {
-                        System.out.println("Map view. Press B to return to exploring.");
+                        out.println("Map view. Press B to return to exploring.");
                     }
                 }
                 case MARKET -> {
@@ -186,7 +440,7 @@ public class LegendsGame {
                         state = GameState.EXPLORING;
                     } else {
                         showInventory();
-                        System.out.println("Press B to return to exploring.");
+                        out.println("Press B to return to exploring.");
                     }
                 }
                 case BATTLE -> {
@@ -194,147 +448,245 @@ public class LegendsGame {
                 }
             }
         }
-        System.out.println("Goodbye!");
+        if (viewport != null) {
+            viewport.close();
+        }
+        if (!party.isDefeated()) {
+            if (journal != null && replay == null) {
+                snapshot();
+            }
+            out.println("Goodbye!");
+        }
     }
 
     private void attemptMove(int dRow, int dCol) {
         if (!map.move(dRow, dCol)) {
-            System.out.println("Cannot move there.");
+            out.println("Cannot move there.");
             return;
         }
-        map.render();
-        System.out.printf("Moved to (%d, %d).%n", map.getHeroRow(), map.getHeroCol());
+        showMap();
+        out.printf("Moved to (%d, %d).%n", map.getHeroRow(), map.getHeroCol());
+        arrive();
+    }
+
+    // Handles the tile the party has just entered; returns true if a market or a battle took over.
+    private boolean arrive() {
+        marketField.follow(map.getHeroRow(), map.getHeroCol());
+        Zone zone = zoneMap.zoneAt(map.getHeroRow(), map.getHeroCol(), catalogs.current().getZones());
+        if (!zone.name().equals(currentZone)) {
+            if (currentZone != null) {
+                out.println("You enter " + zone.name().replace('_', ' ') + ".");
+            }
+            currentZone = zone.name();
+        }
         Tile tile = map.getCurrentTile();
         if (tile instanceof MarketTile marketTile) {
-            System.out.println("Entered Market.");
+            out.println("Entered Market.");
             state = GameState.MARKET;
             enterMarket(marketTile.getMarket());
+            return true;
         } else if (tile instanceof CommonTile) {
-            maybeBattle();
+            return maybeBattle(zone);
         } else {
             // inaccessible would have been blocked
+            return false;
+        }
+    }
+
+    private void travelToNearestMarket() {
+        List<Pathfinder.Cell> path = marketField.pathToNearest(map.getHeroRow(), map.getHeroCol());
+        if (path == null || path.isEmpty()) {
+            out.println("No market within reach.");
+            return;
+        }
+        travel(path);
+    }
+
+    private void travelTo(String destination) {
+        String[] parts = destination.trim().split("\\s+");
+        try {
+            if (parts.length != 2) {
+                throw new NumberFormatException();
+            }
+            int row = Integer.parseInt(parts[0]);
+            int col = Integer.parseInt(parts[1]);
+            if (!map.getGrid().isWithinBounds(row, col)) {
+                out.println("That place is not on the map.");
+                return;
+            }
+            List<Pathfinder.Cell> path = Pathfinder.findPath(map.getGrid(), map.getHeroRow(), map.getHeroCol(), row, col);
+            if (path == null) {
+                out.println("No path to (" + row + ", " + col + ").");
+            } else if (path.isEmpty()) {
+                out.println("You are already there.");
+            } else {
+                travel(path);
+            }
+        } catch (NumberFormatException e) {
+            out.println("Usage: G <row> <col>");
+        } catch (IllegalArgumentException e) {
+            out.println(e.getMessage() + ".");
+        }
+    }
+
+    // Walks the path one tile at a time; each step can still enter a market or start a battle.
+    private void travel(List<Pathfinder.Cell> path) {
+        int steps = 0;
+        for (Pathfinder.Cell cell : path) {
+            if (!map.move(cell.row() - map.getHeroRow(), cell.col() - map.getHeroCol())) {
+                out.println("The way is blocked.");
+                break;
+            }
+            steps++;
+            if (map.getCurrentTile() instanceof MarketTile) {
+                showMap();
+                out.printf("Traveled %d steps to (%d, %d).%n", steps, map.getHeroRow(), map.getHeroCol());
+            }
+            if (arrive()) {
+                if (state == GameState.EXPLORING && steps < path.size()) {
+                    out.printf("Travel interrupted at (%d, %d).%n", map.getHeroRow(), map.getHeroCol());
+                }
+                return;
+            }
+        }
+        showMap();
+        out.printf("Traveled %d steps to (%d, %d).%n", steps, map.getHeroRow(), map.getHeroCol());
+    }
+
+    private void showMap() {
+        if (viewport != null) {
+            viewport.render(map);
+        } else {
+            map.render(out);
         }
     }
 
+    // The stock is read once per visit, so a catalog reload mid-visit cannot change a list being indexed.
     private void enterMarket(Market market) {
-        Scanner scanner = new Scanner(System.in);
+        MarketFactory.Stock stock = market.getStock();
         boolean shopping = true;
-        System.out.println("Entered Market. Commands: list, buy, sell, b (back)");
+        out.println("Entered Market. Commands: list, buy, sell, b (back)");
         while (shopping) {
-            System.out.print("Market> ");
-            String cmd = scanner.nextLine().trim().toLowerCase();
+            out.print("Market> ");
+            String cmd = readLine().trim().toLowerCase();
             switch (cmd) {
-                case "list" -> listMarket(market);
-                case "buy" -> doBuy(market, scanner);
-                case "sell" -> doSell(market, scanner);
+                case "list" -> listMarket(stock);
+                case "buy" -> doBuy(market, stock);
+                case "sell" -> doSell(market);
                 case "exit", "b" -> {
                     shopping = false;
                     state = GameState.EXPLORING;
                 }
-                default -> System.out.println("Commands: list, buy, sell, b");
+                default -> out.println("Commands: list, buy, sell, b");
             }
         }
     }
 
-    private void listMarket(Market market) {
-        System.out.println("Weapons:");
-        for (int i = 0; i < market.getWeapons().size(); i++) {
-            Weapon w = market.getWeapons().get(i);
-            System.out.printf("%d) %s lvl%d dmg:%d hands:%d price:%d%n", i, w.getName(), w.getRequiredLevel(),
+    private void listMarket(MarketFactory.Stock stock) {
+        out.println("Weapons:");
+        for (int i = 0; i < stock.getWeapons().size(); i++) {
+            Weapon w = stock.getWeapons().get(i);
+            out.printf("%d) %s lvl%d dmg:%d hands:%d price:%d%n", i, w.getName(), w.getRequiredLevel(),
                     w.getDamage(), w.getHandsRequired(), w.getPrice());
         }
-        System.out.println("Armors:");
-        for (int i = 0; i < market.getArmors().size(); i++) {
-            Armor a = market.getArmors().get(i);
-            System.out.printf("%d) %s lvl%d red:%d price:%d%n", i, a.getName(), a.getRequiredLevel(),
+        out.println("Armors:");
+        for (int i = 0; i < stock.getArmors().size(); i++) {
+            Armor a = stock.getArmors().get(i);
+            out.printf("%d) %s lvl%d red:%d price:%d%n", i, a.getName(), a.getRequiredLevel(),
                     a.getDamageReduction(), a.getPrice());
         }
-        System.out.println("Potions:");
-        for (int i = 0; i < market.getPotions().size(); i++) {
-            Potion p = market.getPotions().get(i);
-            System.out.printf("%d) %s lvl%d effect:%d stats:%s price:%d%n", i, p.getName(), p.getRequiredLevel(),
+        out.println("Potions:");
+        for (int i = 0; i < stock.getPotions().size(); i++) {
+            Potion p = stock.getPotions().get(i);
+            out.printf("%d) %s lvl%d effect:%d stats:%s price:%d%n", i, p.getName(), p.getRequiredLevel(),
                     p.getEffectAmount(), p.getAffectedStats(), p.getPrice());
         }
-        System.out.println("Spells:");
-        for (int i = 0; i < market.getSpells().size(); i++) {
-            Spell s = market.getSpells().get(i);
-            System.out.printf("%d) %s lvl%d dmg:%d mana:%d price:%d type:%s%n", i, s.getName(),
+        out.println("Spells:");
+        for (int i = 0; i < stock.getSpells().size(); i++) {
+            Spell s = stock.getSpells().get(i);
+            out.printf("%d) %s lvl%d dmg:%d mana:%d price:%d type:%s%n", i, s.getName(),
                     s.getRequiredLevel(), s.getBaseDamage(), s.getManaCost(), s.getPrice(), s.getDebuffType());
         }
     }
 
-    private void doBuy(Market market, Scanner scanner) {
-        Hero hero = chooseHero(scanner);
+    private void doBuy(Market market, MarketFactory.Stock stock) {
+        Hero hero = chooseHero();
         if (hero == null) {
             return;
         }
-        System.out.println("Buy which category? weapon/armor/potion/spell");
-        String cat = scanner.nextLine().trim().toLowerCase();
+        out.println("Buy which category? weapon/armor/potion/spell");
+        String cat = readLine().trim().toLowerCase();
         switch (cat) {
-            case "weapon" -> buyItem(market.getWeapons(), hero, market, scanner);
-            case "armor" -> buyItem(market.getArmors(), hero, market, scanner);
-            case "potion" -> buyItem(market.getPotions(), hero, market, scanner);
-            case "spell" -> buyItem(market.getSpells(), hero, market, scanner);
-            default -> System.out.println("Unknown category.");
+            case "weapon" -> buyItem(stock.getWeapons(), hero, market);
+            case "armor" -> buyItem(stock.getArmors(), hero, market);
+            case "potion" -> buyItem(stock.getPotions(), hero, market);
+            case "spell" -> buyItem(stock.getSpells(), hero, market);
+            default -> out.println("Unknown category.");
         }
     }
 
-    private <T extends Item> void buyItem(List<T> items, Hero hero, Market market, Scanner scanner) {
+    private <T extends Item> void buyItem(List<T> items, Hero hero, Market market) {
         for (int i = 0; i < items.size(); i++) {
             Item it = items.get(i);
-            System.out.printf("%d) %s lvl%d price:%d%n", i, it.getName(), it.getRequiredLevel(), it.getPrice());
+            out.printf("%d) %s lvl%d price:%d%n", i, it.getName(), it.getRequiredLevel(), it.getPrice());
         }
-        System.out.print("Index to buy: ");
-        String line = scanner.nextLine().trim();
+        out.print("Index to buy: ");
+        String line = readLine().trim();
         try {
             int idx = Integer.parseInt(line);
             if (idx >= 0 && idx < items.size()) {
                 Item item = items.get(idx);
                 if (market.buy(hero, item)) {
-                    System.out.println("Purchased " + item.getName());
+                    if (!replayedLine) {
+                        GameMetrics.MARKET_BUYS.increment();
+                    }
+                    out.println("Purchased " + item.getName());
                 } else {
-                    System.out.println("Cannot buy (level/gold).");
+                    out.println("Cannot buy (level/gold).");
                 }
             }
         } catch (NumberFormatException ignored) {
         }
     }
 
-    private void doSell(Market market, Scanner scanner) {
-        Hero hero = chooseHero(scanner);
+    private void doSell(Market market) {
+        Hero hero = chooseHero();
         if (hero == null) {
             return;
         }
         List<Item> items = hero.getInventory().getAll();
         for (int i = 0; i < items.size(); i++) {
             Item it = items.get(i);
-            System.out.printf("%d) %s price:%d%n", i, it.getName(), it.getPrice());
+            out.printf("%d) %s x%d price:%d%n", i, it.getName(), hero.getInventory().count(it), it.getPrice());
         }
-        System.out.print("Index to sell: ");
-        String line = scanner.nextLine().trim();
+        out.print("Index to sell: ");
+        String line = readLine().trim();
         try {
             int idx = Integer.parseInt(line);
             if (idx >= 0 && idx < items.size()) {
                 Item item = items.get(idx);
                 if (market.sell(hero, item)) {
-                    System.out.println("Sold " + item.getName());
+                    if (!replayedLine) {
+                        GameMetrics.MARKET_SELLS.increment();
+                    }
+                    out.println("Sold " + item.getName());
                 } else {
-                    System.out.println("Cannot sell.");
+                    out.println("Cannot sell.");
                 }
             }
         } catch (NumberFormatException ignored) {
         }
     }
 
-    private Hero chooseHero(Scanner scanner) {
+    private Hero chooseHero() {
         List<Hero> heroes = party.getHeroes();
         for (int i = 0; i < heroes.size(); i++) {
             Hero h = heroes.get(i);
-            System.out.printf("%d) %s HP:%d/%d Mana:%d/%d Gold:%d%n", i, h.getName(), h.getHealth(), h.getMaxHealth(),
+            out.printf("%d) %s HP:%d/%d Mana:%d/%d Gold:%d%n", i, h.getName(), h.getHealth(), h.getMaxHealth(),
                     h.getMana(), h.getMaxMana(), h.getGold());
         }
-        System.out.print("Choose hero index: ");
-        String line = scanner.nextLine().trim();
+        out.print("Choose hero index: ");
+        String line = readLine().trim();
         try {
             int idx = Integer.parseInt(line);
             if (idx >= 0 && idx < heroes.size()) {
@@ -345,23 +697,43 @@ public class LegendsGame {
         return null;
     }
 
-    private void maybeBattle() {
-        if (random.nextDouble() > 0.3) {
-            return;
+    private boolean maybeBattle(Zone zone) {
+        if (!zone.rollEncounter(random)) {
+            return false;
         }
-        System.out.println("A battle begins!");
+        out.println("A battle begins!");
         int highestLevel = party.getHeroes().stream().mapToInt(Hero::getLevel).max().orElse(1);
-        List<Monster> foes = monsterFactory.spawnForLevel(monsterPool, highestLevel, party.getHeroes().size());
+        MonsterIndex index = catalogs.current().getMonsterIndex();
+        int level = zone.levelFor(highestLevel);
+        int count = party.getHeroes().size();
+        // Replayed battles were recorded when they were first fought; the whole battle is attributed to
+        // the line that started it, so one that outlasts the replay is not half counted.
+        boolean live = !replayedLine;
+        long spawnStart = System.nanoTime();
+        List<Monster> foes = monsterFactory.spawnForZone(index, level, count, zone);
+        if (live) {
+            GameMetrics.SPAWN_SECONDS.recordSince(spawnStart);
+        }
         if (foes.isEmpty()) {
-            System.out.println("No monsters could be found to match your level. You feel a strange calm...");
-            return;
+            out.println("No monsters could be found to match your level. You feel a strange calm...");
+            return false;
         }
-        Battle battle = new Battle(party, foes);
+        BattleListener listener = new ConsoleBattleListener(out);
+        Battle battle = new Battle(party, foes, live ? GameMetrics.recording(listener) : listener,
+                randomSource.split());
         state = GameState.BATTLE;
-        battleLoop(battle);
+        if (live) {
+            GameMetrics.BATTLES_STARTED.increment();
+        }
+        int turns = battleLoop(battle);
+        if (live) {
+            GameMetrics.BATTLE_TURNS.record(turns);
+            (party.isDefeated() ? GameMetrics.BATTLES_LOST : GameMetrics.BATTLES_WON).increment();
+        }
         if (party.isDefeated()) {
-            System.out.println("Party defeated. Game over.");
-            System.exit(0);
+            out.println("Party defeated. Game over.");
+            running = false;
+            discardSave();
         } else {
             party.reviveAfterWin();
             int rewardGold = 100 * foes.size();
@@ -371,66 +743,89 @@ public class LegendsGame {
                     h.addGold(rewardGold);
                     h.addExperience(rewardExp);
                     if (h.levelUpIfReady()) {
-                        System.out.println(h.getName() + " leveled up to " + h.getLevel());
+                        out.println(h.getName() + " leveled up to " + h.getLevel());
                     }
                 }
             }
-            System.out.println("Victory! Earned gold and experience.");
+            out.println("Victory! Earned gold and experience.");
         }
+        monsterFactory.release(foes);
         state = GameState.EXPLORING;
+        return true;
+    }
+
+    // A defeated party cannot be resumed, so its save and journal are removed once pending writes finish.
+    private void discardSave() {
+        if (autosaver == null) {
+            return;
+        }
+        autosaver.close();
+        autosaver = null;
+        journal.close();
+        journal = null;
+        try {
+            Files.deleteIfExists(saveFile);
+            Journal.delete(saveFile.resolveSibling(saveFile.getFileName() + ".journal"));
+        } catch (IOException e) {
+            out.println("Could not remove save " + saveFile + ": " + e.getMessage());
+        }
     }
 
     private void showInventory() {
-        System.out.println("=== INVENTORY ===");
+        out.println("=== INVENTORY ===");
         List<Hero> heroes = party.getHeroes();
         for (int i = 0; i < heroes.size(); i++) {
             Hero h = heroes.get(i);
-            System.out.printf("[%d] %s (HP:%d/%d Mana:%d/%d Gold:%d)%n", i, h.getName(), h.getHealth(),
+            out.printf("[%d] %s (HP:%d/%d Mana:%d/%d Gold:%d)%n", i, h.getName(), h.getHealth(),
                     h.getMaxHealth(), h.getMana(), h.getMaxMana(), h.getGold());
-            System.out.println("  Weapons:");
-            printItems(h.getInventory().getByType(Weapon.class));
-            System.out.println("  Armors:");
-            printItems(h.getInventory().getByType(Armor.class));
-            System.out.println("  Potions:");
-            printItems(h.getInventory().getByType(Potion.class));
-            System.out.println("  Spells:");
-            printItems(h.getInventory().getByType(Spell.class));
+            Inventory inventory = h.getInventory();
+            out.println("  Weapons:");
+            printItems(inventory, inventory.getByType(Weapon.class));
+            out.println("  Armors:");
+            printItems(inventory, inventory.getByType(Armor.class));
+            out.println("  Potions:");
+            printItems(inventory, inventory.getByType(Potion.class));
+            out.println("  Spells:");
+            printItems(inventory, inventory.getByType(Spell.class));
         }
     }
 
-    private void printItems(List<? extends Item> items) {
+    private void printItems(Inventory inventory, List<? extends Item> items) {
         if (items.isEmpty()) {
-            System.out.println("    (none)");
+            out.println("    (none)");
             return;
         }
         for (int j = 0; j < items.size(); j++) {
             Item item = items.get(j);
-            System.out.printf("    %d) %s (lvl %d, price %d)%n", j, item.getName(), item.getRequiredLevel(),
-                    item.getPrice());
+            int count = inventory.count(item);
+            out.printf("    %d) %s%s (lvl %d, price %d)%n", j, item.getName(), count > 1 ? " x" + count : "",
+                    item.getRequiredLevel(), item.getPrice());
         }
     }
 
-    private void battleLoop(Battle battle) {
-        Scanner scanner = new Scanner(System.in);
+    // Returns the number of rounds fought.
+    private int battleLoop(Battle battle) {
+        int rounds = 0;
         while (!battle.isOver()) {
+            rounds++;
             for (Hero hero : party.aliveHeroes()) {
-                int choice = promptBattleChoice(scanner, hero);
+                int choice = promptBattleChoice(hero);
                 switch (choice) {
                     case 1 -> {
-                        Optional<Monster> target = battleTarget(battle, scanner);
+                        Optional<Monster> target = battleTarget(battle);
                         target.ifPresent(t -> battle.heroAttack(hero, t));
                     }
                     case 2 -> {
-                        Spell spell = chooseSpell(hero, scanner);
-                        Optional<Monster> target = battleTarget(battle, scanner);
+                        Spell spell = chooseSpell(hero);
+                        Optional<Monster> target = battleTarget(battle);
                         if (spell != null && target.isPresent()) {
                             battle.castSpell(hero, spell, target.get());
                         }
                     }
-                    case 3 -> usePotion(hero, scanner);
-                    case 4 -> equip(hero, scanner);
-                    case 5 -> System.out.println("Turn skipped.");
-                    default -> System.out.println("Turn skipped.");
+                    case 3 -> usePotion(hero);
+                    case 4 -> equip(hero);
+                    case 5 -> out.println("Turn skipped.");
+                    default -> out.println("Turn skipped.");
                 }
             }
             for (Monster m : new ArrayList<>(battle.getMonsters())) {
@@ -441,18 +836,19 @@ public class LegendsGame {
                 }
             }
         }
+        return rounds;
     }
 
-    private int promptBattleChoice(Scanner scanner, Hero hero) {
+    private int promptBattleChoice(Hero hero) {
         while (true) {
-            System.out.printf("Hero %s turn:%n", hero.getName());
-            System.out.println("1) Attack");
-            System.out.println("2) Cast Spell");
-            System.out.println("3) Use Potion");
-            System.out.println("4) Equip");
-            System.out.println("5) Skip Turn");
-            System.out.print("Enter choice: ");
-            String line = scanner.nextLine().trim();
+            out.printf("Hero %s turn:%n", hero.getName());
+            out.println("1) Attack");
+            out.println("2) Cast Spell");
+            out.println("3) Use Potion");
+            out.println("4) Equip");
+            out.println("5) Skip Turn");
+            out.print("Enter choice: ");
+            String line = readLine().trim();
             try {
                 int val = Integer.parseInt(line);
                 if (val >= 1 && val <= 5) {
@@ -460,23 +856,23 @@ public class LegendsGame {
                 }
             } catch (NumberFormatException ignored) {
             }
-            System.out.println("Invalid choice. Please enter a number 1-5.");
+            out.println("Invalid choice. Please enter a number 1-5.");
         }
     }
 
-    private Optional<Monster> battleTarget(Battle battle, Scanner scanner) {
+    private Optional<Monster> battleTarget(Battle battle) {
         List<Monster> alive = battle.getMonsters().stream().filter(m -> !m.isFainted()).toList();
         if (alive.isEmpty()) {
             return Optional.empty();
         }
         while (true) {
-            System.out.println("Choose target:");
+            out.println("Choose target:");
             for (int i = 0; i < alive.size(); i++) {
                 Monster m = alive.get(i);
-                System.out.printf("%d) %s HP:%d/%d DEF:%d%n", i, m.getName(), m.getHealth(), m.getMaxHealth(), m.getDefense());
+                out.printf("%d) %s HP:%d/%d DEF:%d%n", i, m.getName(), m.getHealth(), m.getMaxHealth(), m.getDefense());
             }
-            System.out.print("Enter index: ");
-            String line = scanner.nextLine().trim();
+            out.print("Enter index: ");
+            String line = readLine().trim();
             try {
                 int idx = Integer.parseInt(line);
                 if (idx >= 0 && idx < alive.size()) {
@@ -484,25 +880,25 @@ public class LegendsGame {
                 }
             } catch (NumberFormatException ignored) {
             }
-            System.out.println("Invalid target. Try again.");
+            out.println("Invalid target. Try again.");
         }
     }
 
-    private Spell chooseSpell(Hero hero, Scanner scanner) {
-        List<Spell> spells = hero.getInventory().getByType(Spell.class).stream().map(s -> (Spell) s).toList();
+    private Spell chooseSpell(Hero hero) {
+        List<Spell> spells = hero.getInventory().getByType(Spell.class);
         if (spells.isEmpty()) {
-            System.out.println("No spells.");
+            out.println("No spells.");
             return null;
         }
         while (true) {
-            System.out.println("Choose spell:");
+            out.println("Choose spell:");
             for (int i = 0; i < spells.size(); i++) {
                 Spell s = spells.get(i);
-                System.out.printf("%d) %s dmg:%d mana:%d type:%s%n", i, s.getName(), s.getBaseDamage(), s.getManaCost(),
+                out.printf("%d) %s dmg:%d mana:%d type:%s%n", i, s.getName(), s.getBaseDamage(), s.getManaCost(),
                         s.getDebuffType());
             }
-            System.out.print("Enter index: ");
-            String line = scanner.nextLine().trim();
+            out.print("Enter index: ");
+            String line = readLine().trim();
             try {
                 int idx = Integer.parseInt(line);
                 if (idx >= 0 && idx < spells.size()) {
@@ -510,83 +906,84 @@ public class LegendsGame {
                 }
             } catch (NumberFormatException ignored) {
             }
-            System.out.println("Invalid spell. Try again.");
+            out.println("Invalid spell. Try again.");
         }
     }
 
-    private void usePotion(Hero hero, Scanner scanner) {
-        List<Potion> potions = hero.getInventory().getByType(Potion.class).stream().map(p -> (Potion) p).toList();
+    private void usePotion(Hero hero) {
+        List<Potion> potions = hero.getInventory().getByType(Potion.class);
         if (potions.isEmpty()) {
-            System.out.println("No potions.");
+            out.println("No potions.");
             return;
         }
         while (true) {
-            System.out.println("Choose potion:");
+            out.println("Choose potion:");
             for (int i = 0; i < potions.size(); i++) {
                 Potion p = potions.get(i);
-                System.out.printf("%d) %s +%d %s%n", i, p.getName(), p.getEffectAmount(), p.getAffectedStats());
+                out.printf("%d) %s x%d +%d %s%n", i, p.getName(), hero.getInventory().count(p),
+                        p.getEffectAmount(), p.getAffectedStats());
             }
-            System.out.print("Enter index: ");
-            String line = scanner.nextLine().trim();
+            out.print("Enter index: ");
+            String line = readLine().trim();
             try {
                 int idx = Integer.parseInt(line);
                 if (idx >= 0 && idx < potions.size()) {
                     Potion p = potions.get(idx);
                     hero.applyPotionEffect(p.getEffectAmount(), p.getAffectedStats());
                     hero.getInventory().remove(p);
-                    System.out.println("Used " + p.getName());
+                    out.println("Used " + p.getName());
                     return;
                 }
             } catch (NumberFormatException ignored) {
             }
-            System.out.println("Invalid potion. Try again.");
+            out.println("Invalid potion. Try again.");
         }
     }
 
-    private void equip(Hero hero, Scanner scanner) {
-        List<Weapon> weapons = hero.getInventory().getByType(Weapon.class).stream().map(w -> (Weapon) w).toList();
-        List<Armor> armors = hero.getInventory().getByType(Armor.class).stream().map(a -> (Armor) a).toList();
-        System.out.println("Equip menu:");
+    private void equip(Hero hero) {
+        List<Weapon> weapons = hero.getInventory().getByType(Weapon.class);
+        List<Armor> armors = hero.getInventory().getByType(Armor.class);
+        out.println("Equip menu:");
         if (!weapons.isEmpty()) {
-            System.out.println("Weapons:");
+            out.println("Weapons:");
             for (int i = 0; i < weapons.size(); i++) {
                 Weapon w = weapons.get(i);
-                System.out.printf("%d) %s dmg:%d hands:%d%n", i, w.getName(), w.getDamage(), w.getHandsRequired());
+                out.printf("%d) %s dmg:%d hands:%d%n", i, w.getName(), w.getDamage(), w.getHandsRequired());
             }
-            System.out.print("Weapon index (blank to skip): ");
-            String line = scanner.nextLine().trim();
+            out.print("Weapon index (blank to skip): ");
+            String line = readLine().trim();
             if (!line.isEmpty()) {
                 try {
                     int idx = Integer.parseInt(line);
                     if (idx >= 0 && idx < weapons.size()) {
                         hero.getEquipment().equipWeapon(weapons.get(idx));
-                        System.out.println("Equipped weapon: " + weapons.get(idx).getName());
+                        out.println("Equipped weapon: " + weapons.get(idx).getName());
                     }
                 } catch (NumberFormatException ignored) {
                 }
             }
         }
         if (!armors.isEmpty()) {
-            System.out.println("Armors:");
+            out.println("Armors:");
             for (int i = 0; i < armors.size(); i++) {
                 Armor a = armors.get(i);
-                System.out.printf("%d) %s red:%d%n", i, a.getName(), a.getDamageReduction());
+                out.printf("%d) %s red:%d%n", i, a.getName(), a.getDamageReduction());
             }
-            System.out.print("Armor index (blank to skip): ");
-            String line = scanner.nextLine().trim();
+            out.print("Armor index (blank to skip): ");
+            String line = readLine().trim();
             if (!line.isEmpty()) {
                 try {
                     int idx = Integer.parseInt(line);
                     if (idx >= 0 && idx < armors.size()) {
                         hero.getEquipment().equipArmor(armors.get(idx));
-                        System.out.println("Equipped armor: " + armors.get(idx).getName());
+                        out.println("Equipped armor: " + armors.get(idx).getName());
                     }
                 } catch (NumberFormatException ignored) {
                 }
             }
         }
         if (weapons.isEmpty() && armors.isEmpty()) {
-            System.out.println("No equipment available.");
+            out.println("No equipment available.");
         }
     }
 
@@ -597,4 +994,48 @@ public class LegendsGame {
         }
         return alive.get(random.nextInt(alive.size()));
     }
+
+    // Thrown when the input source runs dry mid-prompt; ends the session instead of spinning on EOF.
+    private static final class InputClosedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        InputClosedException() {
+            super(null, null, false, false);
+        }
+    }
+
+    // Forwards to the real sink, except while a journal replay is rebuilding the session.
+    private static final class ReplaySink implements OutputSink {
+        private final OutputSink target;
+        private boolean muted;
+
+        ReplaySink(OutputSink target) {
+            this.target = target;
+        }
+
+        void setMuted(boolean muted) {
+            this.muted = muted;
+        }
+
+        @Override
+        public void print(CharSequence text) {
+            if (!muted) {
+                target.print(text);
+            }
+        }
+
+        @Override
+        public void printf(String format, Object... args) {
+            if (!muted) {
+                target.printf(format, args);
+            }
+        }
+
+        @Override
+        public void flush() {
+            if (!muted) {
+                target.flush();
+            }
+        }
+    }
 }
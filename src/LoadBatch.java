@@ -0,0 +1,75 @@
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Loads independent catalog files concurrently. Every submitted file is awaited, and all failures
+// are reported together in one CatalogLoadException instead of stopping at the first one.
+public final class LoadBatch implements AutoCloseable {
+    private static final AtomicInteger THREAD_IDS = new AtomicInteger();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "catalog-loader-" + THREAD_IDS.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<Pending<?>> pending = new ArrayList<>();
+
+    public <T> Pending<T> submit(Path path, DataLoader<T> loader) {
+        Pending<T> p = new Pending<>(path, executor.submit(() -> loader.load(path)));
+        pending.add(p);
+        return p;
+    }
+
+    public void await() throws IOException {
+        Map<Path, Throwable> failures = new LinkedHashMap<>();
+        for (Pending<?> p : pending) {
+            try {
+                p.future.get();
+            } catch (ExecutionException e) {
+                failures.put(p.path, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while loading " + p.path);
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new CatalogLoadException(failures);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    public static final class Pending<T> {
+        private final Path path;
+        private final Future<List<T>> future;
+
+        private Pending(Path path, Future<List<T>> future) {
+            this.path = path;
+            this.future = future;
+        }
+
+        // Only valid after a successful LoadBatch.await().
+        public List<T> get() {
+            if (!future.isDone()) {
+                throw new IllegalStateException("Batch has not been awaited: " + path);
+            }
+            try {
+                return future.get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new IllegalStateException("Catalog did not load: " + path, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+// Generates terrain in which every accessible tile, and so every market, is reachable from every
+// other. Rows are rolled in strips, each from its own seed, so strips can be built in parallel and a
+// seed always yields the same map. Pockets cut off inside a strip are joined to the strip's largest
+// region by carving through blocked tiles, and each strip boundary is opened at its middle column.
+public final class MapGenerator {
+    public static final int STRIP_ROWS = 64;
+    private static final int BLOCKED_PERCENT = 5;
+    private static final int MARKET_PERCENT = 10;
+
+    private MapGenerator() {
+    }
+
+    public static ByteTileGrid generate(int size, Market market, long seed) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be positive");
+        }
+        byte[] kinds = new byte[Math.multiplyExact(size, size)];
+        int strips = (size + STRIP_ROWS - 1) / STRIP_ROWS;
+        IntStream.range(0, strips).parallel().forEach(strip -> {
+            int firstRow = strip * STRIP_ROWS;
+            int rows = Math.min(STRIP_ROWS, size - firstRow);
+            int offset = firstRow * size;
+            roll(kinds, offset, rows * size, new SplittableRandom(mix(seed, strip)));
+            int mid = size / 2;
+            if (strip > 0) {
+                kinds[offset + mid] = Tile.COMMON;
+            }
+            if (strip < strips - 1) {
+                kinds[offset + (rows - 1) * size + mid] = Tile.COMMON;
+            }
+            connect(kinds, offset, rows, size, size);
+        });
+        return new ByteTileGrid(size, size, kinds, new MarketTile(market));
+    }
+
+    static void roll(byte[] kinds, int from, int count, SplittableRandom random) {
+        for (int i = from; i < from + count; i++) {
+            int roll = random.nextInt(100);
+            if (roll < BLOCKED_PERCENT) {
+                kinds[i] = Tile.INACCESSIBLE;
+            } else if (roll < BLOCKED_PERCENT + MARKET_PERCENT) {
+                kinds[i] = Tile.MARKET;
+            } else {
+                kinds[i] = Tile.COMMON;
+            }
+        }
+    }
+
+    // Makes the accessible cells of the rows x cols window starting at offset (row stride `stride`)
+    // one connected region. Components are found with union-find; a breadth-first search from the
+    // largest one then gives every other component a shortest route to it, whose blocked cells are
+    // turned into common tiles.
+    static void connect(byte[] kinds, int offset, int rows, int cols, int stride) {
+        int cells = rows * cols;
+        int[] parent = new int[cells];
+        int[] sizes = new int[cells];
+        for (int i = 0; i < cells; i++) {
+            parent[i] = i;
+            sizes[i] = 1;
+        }
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int i = r * cols + c;
+                if (!open(kinds, offset, stride, r, c)) {
+                    continue;
+                }
+                if (c + 1 < cols && open(kinds, offset, stride, r, c + 1)) {
+                    union(parent, sizes, i, i + 1);
+                }
+                if (r + 1 < rows && open(kinds, offset, stride, r + 1, c)) {
+                    union(parent, sizes, i, i + cols);
+                }
+            }
+        }
+        int main = -1;
+        boolean split = false;
+        for (int i = 0; i < cells; i++) {
+            if (open(kinds, offset, stride, i / cols, i % cols) && parent[i] == i) {
+                if (main >= 0) {
+                    split = true;
+                }
+                if (main < 0 || sizes[i] > sizes[main]) {
+                    main = i;
+                }
+            }
+        }
+        if (!split) {
+            return;
+        }
+        // Breadth-first search outward from the main region through every cell, blocked or not.
+        int[] previous = new int[cells];
+        Arrays.fill(previous, -2);
+        int[] queue = new int[cells];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < cells; i++) {
+            if (open(kinds, offset, stride, i / cols, i % cols) && find(parent, i) == main) {
+                previous[i] = -1;
+                queue[tail++] = i;
+            }
+        }
+        while (head < tail) {
+            int cell = queue[head++];
+            int r = cell / cols;
+            int c = cell % cols;
+            if (r > 0) tail = visit(previous, queue, tail, cell, cell - cols);
+            if (r + 1 < rows) tail = visit(previous, queue, tail, cell, cell + cols);
+            if (c > 0) tail = visit(previous, queue, tail, cell, cell - 1);
+            if (c + 1 < cols) tail = visit(previous, queue, tail, cell, cell + 1);
+        }
+        boolean[] joined = new boolean[cells];
+        for (int i = 0; i < cells; i++) {
+            if (!open(kinds, offset, stride, i / cols, i % cols)) {
+                continue;
+            }
+            int root = find(parent, i);
+            if (root == main || joined[root]) {
+                continue;
+            }
+            joined[root] = true;
+            for (int cell = i; previous[cell] >= 0; cell = previous[cell]) {
+                int index = offset + (cell / cols) * stride + cell % cols;
+                if (kinds[index] == Tile.INACCESSIBLE) {
+                    kinds[index] = Tile.COMMON;
+                }
+            }
+        }
+    }
+
+    private static int visit(int[] previous, int[] queue, int tail, int from, int to) {
+        if (previous[to] == -2) {
+            previous[to] = from;
+            queue[tail++] = to;
+        }
+        return tail;
+    }
+
+    private static boolean open(byte[] kinds, int offset, int stride, int r, int c) {
+        return Tile.isAccessible(kinds[offset + r * stride + c]);
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int[] sizes, int a, int b) {
+        int ra = find(parent, a);
+        int rb = find(parent, b);
+        if (ra == rb) {
+            return;
+        }
+        if (sizes[ra] < sizes[rb]) {
+            int t = ra;
+            ra = rb;
+            rb = t;
+        }
+        parent[rb] = ra;
+        sizes[ra] += sizes[rb];
+    }
+
+    static long mix(long seed, long salt) {
+        long h = seed ^ (salt * 0x9E3779B97F4A7C15L);
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -1,34 +1,46 @@
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 public class Market {
-    private final List<Weapon> weapons;
-    private final List<Armor> armors;
-    private final List<Potion> potions;
-    private final List<Spell> spells;
+    private final Supplier<MarketFactory.Stock> stock;
 
     public Market(List<Weapon> weapons, List<Armor> armors, List<Potion> potions, List<Spell> spells) {
-        this.weapons = new ArrayList<>(weapons);
-        this.armors = new ArrayList<>(armors);
-        this.potions = new ArrayList<>(potions);
-        this.spells = new ArrayList<>(spells);
+        this(new MarketFactory.Stock(List.copyOf(weapons), List.copyOf(armors), List.copyOf(potions),
+                List.copyOf(spells)));
+    }
+
+    // Shares the stock's read-only lists instead of copying them.
+    public Market(MarketFactory.Stock stock) {
+        this(() -> stock);
+    }
+
+    // Reads the stock through the supplier on every call, so a reloaded catalog shows up immediately.
+    public Market(Supplier<MarketFactory.Stock> stock) {
+        if (stock == null) {
+            throw new IllegalArgumentException("Stock supplier is required");
+        }
+        this.stock = stock;
+    }
+
+    // The current stock as one consistent snapshot; a reload swaps in a new Stock, never edits this one.
+    public MarketFactory.Stock getStock() {
+        return stock.get();
     }
 
     public List<Weapon> getWeapons() {
-        return Collections.unmodifiableList(weapons);
+        return stock.get().getWeapons();
     }
 
     public List<Armor> getArmors() {
-        return Collections.unmodifiableList(armors);
+        return stock.get().getArmors();
     }
 
     public List<Potion> getPotions() {
-        return Collections.unmodifiableList(potions);
+        return stock.get().getPotions();
     }
 
     public List<Spell> getSpells() {
-        return Collections.unmodifiableList(spells);
+        return stock.get().getSpells();
     }
 
     public boolean canBuy(Hero hero, Item item) {
@@ -0,0 +1,246 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Walking distance from every open cell to its nearest market, from one multi-source breadth-first
+// search. Large maps are covered by a window around the party that is rebuilt when the party nears
+// its edge, so only markets inside the window count. Tile changes are applied incrementally: a new
+// market or opening only relaxes distances outward, while a removed market or new wall resets just
+// the cells whose shortest route ran through it and recomputes them from their neighbours.
+// Nearest-market queries walk downhill, so they cost O(path length). Not thread-safe.
+public class MarketDistanceField implements TileListener {
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    public static final int DEFAULT_EXTENT = 1024;
+    private static final int[] ROW_STEPS = {-1, 1, 0, 0};
+    private static final int[] COL_STEPS = {0, 0, -1, 1};
+
+    private final TileGrid grid;
+    private final int rows;
+    private final int cols;
+    private final int[] distance;
+    private int top;
+    private int left;
+    private final int[] queue;
+    private final boolean[] stale;
+    private final LongHeap heap = new LongHeap();
+
+    public MarketDistanceField(TileGrid grid, int row, int col) {
+        this(grid, row, col, DEFAULT_EXTENT);
+    }
+
+    public MarketDistanceField(TileGrid grid, int row, int col, int extent) {
+        if (grid == null || extent <= 0) {
+            throw new IllegalArgumentException("Invalid distance field");
+        }
+        this.grid = grid;
+        this.rows = Math.min(extent, grid.getRows());
+        this.cols = Math.min(extent, grid.getCols());
+        this.distance = new int[rows * cols];
+        this.queue = new int[rows * cols];
+        this.stale = new boolean[rows * cols];
+        rebuild(row, col);
+    }
+
+    // Keeps the window around the party; a no-op when the whole map fits in it.
+    public void follow(int row, int col) {
+        int r = row - top;
+        int c = col - left;
+        boolean clampedTop = top == 0;
+        boolean clampedLeft = left == 0;
+        boolean clampedBottom = top + rows == grid.getRows();
+        boolean clampedRight = left + cols == grid.getCols();
+        if ((r < rows / 4 && !clampedTop) || (r >= rows - rows / 4 && !clampedBottom)
+                || (c < cols / 4 && !clampedLeft) || (c >= cols - cols / 4 && !clampedRight)) {
+            rebuild(row, col);
+        }
+    }
+
+    public int distance(int row, int col) {
+        if (!covers(row, col)) {
+            return UNREACHABLE;
+        }
+        return distance[index(row, col)];
+    }
+
+    // Steps to the nearest market, or null if none is reachable inside the window.
+    public List<Pathfinder.Cell> pathToNearest(int row, int col) {
+        int d = distance(row, col);
+        if (d == UNREACHABLE) {
+            return null;
+        }
+        List<Pathfinder.Cell> path = new ArrayList<>(d);
+        while (d > 0) {
+            for (int k = 0; k < 4; k++) {
+                int nr = row + ROW_STEPS[k];
+                int nc = col + COL_STEPS[k];
+                if (covers(nr, nc) && distance[index(nr, nc)] == d - 1) {
+                    row = nr;
+                    col = nc;
+                    break;
+                }
+            }
+            path.add(new Pathfinder.Cell(row, col));
+            d--;
+        }
+        return path;
+    }
+
+    @Override
+    public void onTileChanged(int row, int col, byte before, byte after) {
+        if (before == after || !covers(row, col)) {
+            return;
+        }
+        if (!Tile.isAccessible(after) || before == Tile.MARKET) {
+            raise(index(row, col));
+        }
+        if (Tile.isAccessible(after)) {
+            lower(index(row, col));
+        }
+    }
+
+    private void rebuild(int row, int col) {
+        top = GameMap.viewportStart(row, rows, grid.getRows());
+        left = GameMap.viewportStart(col, cols, grid.getCols());
+        Arrays.fill(distance, UNREACHABLE);
+        int tail = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (grid.getKind(top + r, left + c) == Tile.MARKET) {
+                    distance[r * cols + c] = 0;
+                    queue[tail++] = r * cols + c;
+                }
+            }
+        }
+        relax(0, tail);
+    }
+
+    // Breadth-first relaxation of the queued cells; distances only decrease. Every source holds the
+    // same distance, so cells settle in order and each is queued at most once.
+    private void relax(int head, int tail) {
+        while (head < tail) {
+            int cell = queue[head++];
+            int next = distance[cell] + 1;
+            int r = cell / cols;
+            int c = cell % cols;
+            for (int k = 0; k < 4; k++) {
+                int nr = r + ROW_STEPS[k];
+                int nc = c + COL_STEPS[k];
+                if (nr < 0 || nc < 0 || nr >= rows || nc >= cols) {
+                    continue;
+                }
+                int n = nr * cols + nc;
+                if (next < distance[n] && open(n)) {
+                    distance[n] = next;
+                    queue[tail++] = n;
+                }
+            }
+        }
+    }
+
+    private void lower(int cell) {
+        distance[cell] = isMarket(cell) ? 0 : bestNeighbour(cell);
+        if (distance[cell] != UNREACHABLE) {
+            queue[0] = cell;
+            relax(0, 1);
+        }
+    }
+
+    // Clears every cell whose distance may have been derived through `origin`, then recomputes them
+    // from the untouched cells around them, smallest distance first.
+    private void raise(int origin) {
+        int tail = 0;
+        queue[tail++] = origin;
+        stale[origin] = true;
+        for (int head = 0; head < tail; head++) {
+            int cell = queue[head];
+            int d = distance[cell];
+            if (d == UNREACHABLE) {
+                continue;
+            }
+            int r = cell / cols;
+            int c = cell % cols;
+            for (int k = 0; k < 4; k++) {
+                int nr = r + ROW_STEPS[k];
+                int nc = c + COL_STEPS[k];
+                if (nr < 0 || nc < 0 || nr >= rows || nc >= cols) {
+                    continue;
+                }
+                int n = nr * cols + nc;
+                if (!stale[n] && distance[n] == d + 1) {
+                    stale[n] = true;
+                    queue[tail++] = n;
+                }
+            }
+        }
+        for (int i = 0; i < tail; i++) {
+            distance[queue[i]] = UNREACHABLE;
+        }
+        heap.clear();
+        for (int i = 0; i < tail; i++) {
+            int cell = queue[i];
+            stale[cell] = false;
+            if (!open(cell)) {
+                continue;
+            }
+            int best = isMarket(cell) ? 0 : bestNeighbour(cell);
+            if (best != UNREACHABLE) {
+                heap.add(((long) best << 32) | cell);
+            }
+        }
+        while (!heap.isEmpty()) {
+            long entry = heap.poll();
+            int cell = (int) entry;
+            int d = (int) (entry >>> 32);
+            if (d >= distance[cell]) {
+                continue;
+            }
+            distance[cell] = d;
+            int r = cell / cols;
+            int c = cell % cols;
+            for (int k = 0; k < 4; k++) {
+                int nr = r + ROW_STEPS[k];
+                int nc = c + COL_STEPS[k];
+                if (nr < 0 || nc < 0 || nr >= rows || nc >= cols) {
+                    continue;
+                }
+                int n = nr * cols + nc;
+                if (d + 1 < distance[n] && open(n)) {
+                    heap.add(((long) (d + 1) << 32) | n);
+                }
+            }
+        }
+    }
+
+    private int bestNeighbour(int cell) {
+        int best = UNREACHABLE;
+        int r = cell / cols;
+        int c = cell % cols;
+        for (int k = 0; k < 4; k++) {
+            int nr = r + ROW_STEPS[k];
+            int nc = c + COL_STEPS[k];
+            if (nr >= 0 && nc >= 0 && nr < rows && nc < cols) {
+                int d = distance[nr * cols + nc];
+                if (d != UNREACHABLE && d + 1 < best) {
+                    best = d + 1;
+                }
+            }
+        }
+        return best;
+    }
+
+    private boolean isMarket(int cell) {
+        return grid.getKind(top + cell / cols, left + cell % cols) == Tile.MARKET;
+    }
+
+    private boolean open(int cell) {
+        return Tile.isAccessible(grid.getKind(top + cell / cols, left + cell % cols));
+    }
+
+    private boolean covers(int row, int col) {
+        return row >= top && col >= left && row < top + rows && col < left + cols;
+    }
+
+    private int index(int row, int col) {
+        return (row - top) * cols + (col - left);
+    }
+}
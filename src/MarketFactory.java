@@ -3,26 +3,54 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 public class MarketFactory {
-    private final WeaponLoader weaponLoader = new WeaponLoader();
-    private final ArmorLoader armorLoader = new ArmorLoader();
-    private final PotionLoader potionLoader = new PotionLoader();
-    private final FireSpellLoader fireSpellLoader = new FireSpellLoader();
-    private final IceSpellLoader iceSpellLoader = new IceSpellLoader();
-    private final LightningSpellLoader lightningSpellLoader = new LightningSpellLoader();
+    private final DataLoader<Weapon> weaponLoader;
+    private final DataLoader<Armor> armorLoader;
+    private final DataLoader<Potion> potionLoader;
+    private final DataLoader<FireSpell> fireSpellLoader;
+    private final DataLoader<IceSpell> iceSpellLoader;
+    private final DataLoader<LightningSpell> lightningSpellLoader;
+
+    public MarketFactory() {
+        this(null);
+    }
+
+    public MarketFactory(CatalogSnapshot snapshot) {
+        weaponLoader = SnapshotLoader.wrap(snapshot, new SchemaLoader<>(CatalogSchemas.WEAPONS), Weapon.class);
+        armorLoader = SnapshotLoader.wrap(snapshot, new SchemaLoader<>(CatalogSchemas.ARMORS), Armor.class);
+        potionLoader = SnapshotLoader.wrap(snapshot, new SchemaLoader<>(CatalogSchemas.POTIONS), Potion.class);
+        fireSpellLoader = SnapshotLoader.wrap(snapshot, new SchemaLoader<>(CatalogSchemas.FIRE_SPELLS), FireSpell.class);
+        iceSpellLoader = SnapshotLoader.wrap(snapshot, new SchemaLoader<>(CatalogSchemas.ICE_SPELLS), IceSpell.class);
+        lightningSpellLoader = SnapshotLoader.wrap(snapshot, new SchemaLoader<>(CatalogSchemas.LIGHTNING_SPELLS), LightningSpell.class);
+    }
 
     public Stock loadAll(Path weaponsFile, Path armorsFile, Path potionsFile,
                          Path fireSpellsFile, Path iceSpellsFile, Path lightningSpellsFile) throws IOException {
-        List<Weapon> weapons = weaponLoader.load(weaponsFile);
-        List<Armor> armors = armorLoader.load(armorsFile);
-        List<Potion> potions = potionLoader.load(potionsFile);
-        List<Spell> spells = new ArrayList<>();
-        spells.addAll(fireSpellLoader.load(fireSpellsFile));
-        spells.addAll(iceSpellLoader.load(iceSpellsFile));
-        spells.addAll(lightningSpellLoader.load(lightningSpellsFile));
-
-        return new Stock(weapons, armors, potions, spells);
+        try (LoadBatch batch = new LoadBatch()) {
+            Supplier<Stock> stock = loadAll(batch, weaponsFile, armorsFile, potionsFile,
+                    fireSpellsFile, iceSpellsFile, lightningSpellsFile);
+            batch.await();
+            return stock.get();
+        }
+    }
+
+    public Supplier<Stock> loadAll(LoadBatch batch, Path weaponsFile, Path armorsFile, Path potionsFile,
+                                   Path fireSpellsFile, Path iceSpellsFile, Path lightningSpellsFile) {
+        LoadBatch.Pending<Weapon> weapons = batch.submit(weaponsFile, weaponLoader);
+        LoadBatch.Pending<Armor> armors = batch.submit(armorsFile, armorLoader);
+        LoadBatch.Pending<Potion> potions = batch.submit(potionsFile, potionLoader);
+        LoadBatch.Pending<FireSpell> fireSpells = batch.submit(fireSpellsFile, fireSpellLoader);
+        LoadBatch.Pending<IceSpell> iceSpells = batch.submit(iceSpellsFile, iceSpellLoader);
+        LoadBatch.Pending<LightningSpell> lightningSpells = batch.submit(lightningSpellsFile, lightningSpellLoader);
+        return () -> {
+            List<Spell> spells = new ArrayList<>();
+            spells.addAll(fireSpells.get());
+            spells.addAll(iceSpells.get());
+            spells.addAll(lightningSpells.get());
+            return new Stock(weapons.get(), armors.get(), potions.get(), spells);
+        };
     }
 
     public static class Stock {
@@ -31,11 +59,12 @@ public class MarketFactory {
         private final List<Potion> potions;
         private final List<Spell> spells;
 
+        // Takes ownership of the lists rather than copying them; callers must not modify them afterwards.
         public Stock(List<Weapon> weapons, List<Armor> armors, List<Potion> potions, List<Spell> spells) {
-            this.weapons = Collections.unmodifiableList(new ArrayList<>(weapons));
-            this.armors = Collections.unmodifiableList(new ArrayList<>(armors));
-            this.potions = Collections.unmodifiableList(new ArrayList<>(potions));
-            this.spells = Collections.unmodifiableList(new ArrayList<>(spells));
+            this.weapons = Collections.unmodifiableList(weapons);
+            this.armors = Collections.unmodifiableList(armors);
+            this.potions = Collections.unmodifiableList(potions);
+            this.spells = Collections.unmodifiableList(spells);
         }
 
         public List<Weapon> getWeapons() {
@@ -1,11 +1,16 @@
+// One instance per market, shared by every cell that opens it.
 public class MarketTile extends Tile {
     private final Market market;
 
-    public MarketTile(int row, int col, Market market) {
-        super(row, col);
+    public MarketTile(Market market) {
         this.market = market;
     }
 
+    @Override
+    public byte getKind() {
+        return MARKET;
+    }
+
     @Override
     public boolean isAccessible() {
         return true;
@@ -0,0 +1,350 @@
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// Struct-of-arrays variant of Battle for large parties and hordes. Combatant stats are copied into
+// primitive arrays when added, liveness is tracked in bitsets, and resolving actions allocates nothing.
+// Damage, dodge and debuff formulas mirror Battle exactly.
+public class MassBattle {
+    private final RandomGenerator random;
+
+    private int heroCount;
+    private int[] heroHealth;
+    private int[] heroMana;
+    private int[] heroAttack;
+    private int[] heroDexterity;
+    private int[] heroArmor;
+    private int[] heroAgility;
+    private Spell[] heroSpell;
+    private final AliveSet aliveHeroes;
+
+    private int monsterCount;
+    private int[] monsterHealth;
+    private int[] monsterDefense;
+    private int[] monsterMinDamage;
+    private int[] monsterMaxDamage;
+    private double[] monsterDodge;
+    private final AliveSet aliveMonsters;
+
+    private long heroDamageDealt;
+    private long monsterDamageDealt;
+
+    public MassBattle(int heroCapacity, int monsterCapacity, RandomGenerator random) {
+        if (heroCapacity <= 0 || monsterCapacity <= 0) {
+            throw new IllegalArgumentException("Capacities must be positive");
+        }
+        this.random = random;
+        heroHealth = new int[heroCapacity];
+        heroMana = new int[heroCapacity];
+        heroAttack = new int[heroCapacity];
+        heroDexterity = new int[heroCapacity];
+        heroArmor = new int[heroCapacity];
+        heroAgility = new int[heroCapacity];
+        heroSpell = new Spell[heroCapacity];
+        aliveHeroes = new AliveSet(heroCapacity);
+        monsterHealth = new int[monsterCapacity];
+        monsterDefense = new int[monsterCapacity];
+        monsterMinDamage = new int[monsterCapacity];
+        monsterMaxDamage = new int[monsterCapacity];
+        monsterDodge = new double[monsterCapacity];
+        aliveMonsters = new AliveSet(monsterCapacity);
+    }
+
+    public void clear() {
+        heroCount = 0;
+        monsterCount = 0;
+        aliveHeroes.clearAll();
+        aliveMonsters.clearAll();
+        heroDamageDealt = 0;
+        monsterDamageDealt = 0;
+    }
+
+    public int addHero(Hero hero) {
+        return addHero(hero, null);
+    }
+
+    // spell, when given, is cast by playRound whenever the hero has the mana for it.
+    public int addHero(Hero hero, Spell spell) {
+        if (heroCount == heroHealth.length) {
+            growHeroes(heroCount * 2);
+        }
+        int i = heroCount++;
+        Weapon weapon = hero.getEquipment().getWeapon();
+        Armor armor = hero.getEquipment().getArmor();
+        heroHealth[i] = hero.getHealth();
+        heroMana[i] = hero.getMana();
+        heroAttack[i] = hero.getStrength() + (weapon != null ? weapon.getDamage() : 0);
+        heroDexterity[i] = hero.getDexterity();
+        heroArmor[i] = armor != null ? armor.getDamageReduction() : 0;
+        heroAgility[i] = hero.getAgility();
+        heroSpell[i] = spell;
+        if (heroHealth[i] > 0) {
+            aliveHeroes.set(i);
+        }
+        return i;
+    }
+
+    public int addMonster(Monster monster) {
+        if (monsterCount == monsterHealth.length) {
+            growMonsters(monsterCount * 2);
+        }
+        int i = monsterCount++;
+        monsterHealth[i] = monster.getHealth();
+        monsterDefense[i] = monster.getDefense();
+        monsterMinDamage[i] = monster.getMinDamage();
+        monsterMaxDamage[i] = monster.getMaxDamage();
+        monsterDodge[i] = monster.getDodgeChance();
+        if (monsterHealth[i] > 0) {
+            aliveMonsters.set(i);
+        }
+        return i;
+    }
+
+    public boolean isOver() {
+        return aliveHeroes.count() == 0 || aliveMonsters.count() == 0;
+    }
+
+    public boolean heroesWon() {
+        return aliveHeroes.count() > 0 && aliveMonsters.count() == 0;
+    }
+
+    public void heroAttack(int hero, int target) {
+        if (!aliveHeroes.get(hero) || !aliveMonsters.get(target)) {
+            return;
+        }
+        int damage = Math.max(1, heroAttack[hero] - monsterDefense[target]);
+        if (rollDodge(monsterDodge[target])) {
+            return;
+        }
+        heroDamageDealt += damageMonster(target, damage);
+    }
+
+    public void monsterAttack(int monster, int target) {
+        if (!aliveMonsters.get(monster) || !aliveHeroes.get(target)) {
+            return;
+        }
+        int min = monsterMinDamage[monster];
+        int damage = random.nextInt(monsterMaxDamage[monster] - min + 1) + min;
+        damage = Math.max(0, damage - heroArmor[target]);
+        if (rollDodgeChance(heroAgility[target])) {
+            return;
+        }
+        int before = heroHealth[target];
+        int after = Math.max(0, before - damage);
+        heroHealth[target] = after;
+        monsterDamageDealt += before - after;
+        if (after == 0) {
+            aliveHeroes.clear(target);
+        }
+    }
+
+    public void castSpell(int hero, Spell spell, int target) {
+        if (spell == null || !aliveHeroes.get(hero) || !aliveMonsters.get(target)) {
+            return;
+        }
+        if (spell.getManaCost() > heroMana[hero]) {
+            return;
+        }
+        heroMana[hero] = Math.max(0, heroMana[hero] - spell.getManaCost());
+        int damage = spell.getBaseDamage() + (int) (heroDexterity[hero] * 0.1);
+        if (rollDodge(monsterDodge[target])) {
+            return;
+        }
+        heroDamageDealt += damageMonster(target, damage);
+        applyDebuff(spell, target);
+    }
+
+    // One round with the simulation policy: every hero casts its spell at the first standing monster if
+    // it has the mana, and attacks it otherwise; then every standing monster strikes a random standing hero.
+    public void playRound() {
+        for (int h = aliveHeroes.nextSetBit(0); h >= 0; h = aliveHeroes.nextSetBit(h + 1)) {
+            int target = aliveMonsters.nextSetBit(0);
+            if (target < 0) {
+                break;
+            }
+            Spell spell = heroSpell[h];
+            if (spell != null && spell.getManaCost() <= heroMana[h]) {
+                castSpell(h, spell, target);
+            } else {
+                heroAttack(h, target);
+            }
+        }
+        for (int m = aliveMonsters.nextSetBit(0); m >= 0; m = aliveMonsters.nextSetBit(m + 1)) {
+            int alive = aliveHeroes.count();
+            if (alive == 0) {
+                break;
+            }
+            monsterAttack(m, aliveHeroes.select(random.nextInt(alive)));
+        }
+    }
+
+    public int fight(int maxRounds) {
+        int rounds = 0;
+        while (!isOver() && rounds < maxRounds) {
+            rounds++;
+            playRound();
+        }
+        return rounds;
+    }
+
+    public int getHeroCount() {
+        return heroCount;
+    }
+
+    public int getMonsterCount() {
+        return monsterCount;
+    }
+
+    public int getAliveHeroCount() {
+        return aliveHeroes.count();
+    }
+
+    public int getAliveMonsterCount() {
+        return aliveMonsters.count();
+    }
+
+    public int getHeroHealth(int hero) {
+        return heroHealth[hero];
+    }
+
+    public int getMonsterHealth(int monster) {
+        return monsterHealth[monster];
+    }
+
+    public long getHeroDamageDealt() {
+        return heroDamageDealt;
+    }
+
+    public long getMonsterDamageDealt() {
+        return monsterDamageDealt;
+    }
+
+    private int damageMonster(int target, int damage) {
+        int before = monsterHealth[target];
+        int after = Math.max(0, before - damage);
+        monsterHealth[target] = after;
+        if (after == 0) {
+            aliveMonsters.clear(target);
+        }
+        return before - after;
+    }
+
+    private void applyDebuff(Spell spell, int target) {
+        double amount = spell.getDebuffAmount();
+        switch (spell.getDebuffType()) {
+            case FireSpell.DEBUFF_TYPE -> monsterDefense[target] = Math.max(0, (int) (monsterDefense[target] - amount));
+            case IceSpell.DEBUFF_TYPE -> {
+                int newMin = Math.max(0, (int) (monsterMinDamage[target] - amount));
+                monsterMaxDamage[target] = Math.max(newMin, (int) (monsterMaxDamage[target] - amount));
+                monsterMinDamage[target] = newMin;
+            }
+            case LightningSpell.DEBUFF_TYPE -> monsterDodge[target] = Math.max(0, monsterDodge[target] - amount);
+            default -> {
+            }
+        }
+    }
+
+    private boolean rollDodge(double dodgeChance) {
+        return random.nextDouble() < (dodgeChance / 100.0);
+    }
+
+    private boolean rollDodgeChance(int agility) {
+        double chance = Math.min(0.5, agility / 1000.0);
+        return random.nextDouble() < chance;
+    }
+
+    private void growHeroes(int capacity) {
+        heroHealth = Arrays.copyOf(heroHealth, capacity);
+        heroMana = Arrays.copyOf(heroMana, capacity);
+        heroAttack = Arrays.copyOf(heroAttack, capacity);
+        heroDexterity = Arrays.copyOf(heroDexterity, capacity);
+        heroArmor = Arrays.copyOf(heroArmor, capacity);
+        heroAgility = Arrays.copyOf(heroAgility, capacity);
+        heroSpell = Arrays.copyOf(heroSpell, capacity);
+        aliveHeroes.ensureCapacity(capacity);
+    }
+
+    private void growMonsters(int capacity) {
+        monsterHealth = Arrays.copyOf(monsterHealth, capacity);
+        monsterDefense = Arrays.copyOf(monsterDefense, capacity);
+        monsterMinDamage = Arrays.copyOf(monsterMinDamage, capacity);
+        monsterMaxDamage = Arrays.copyOf(monsterMaxDamage, capacity);
+        monsterDodge = Arrays.copyOf(monsterDodge, capacity);
+        aliveMonsters.ensureCapacity(capacity);
+    }
+
+    private static final class AliveSet {
+        private long[] words;
+        private int count;
+
+        AliveSet(int capacity) {
+            words = new long[(capacity + 63) >>> 6];
+        }
+
+        void ensureCapacity(int capacity) {
+            int needed = (capacity + 63) >>> 6;
+            if (needed > words.length) {
+                words = Arrays.copyOf(words, needed);
+            }
+        }
+
+        boolean get(int i) {
+            return (words[i >>> 6] & (1L << i)) != 0;
+        }
+
+        void set(int i) {
+            if (!get(i)) {
+                words[i >>> 6] |= 1L << i;
+                count++;
+            }
+        }
+
+        void clear(int i) {
+            if (get(i)) {
+                words[i >>> 6] &= ~(1L << i);
+                count--;
+            }
+        }
+
+        void clearAll() {
+            Arrays.fill(words, 0L);
+            count = 0;
+        }
+
+        int count() {
+            return count;
+        }
+
+        int nextSetBit(int from) {
+            int w = from >>> 6;
+            if (w >= words.length) {
+                return -1;
+            }
+            long word = words[w] & (-1L << from);
+            while (true) {
+                if (word != 0) {
+                    return (w << 6) + Long.numberOfTrailingZeros(word);
+                }
+                if (++w == words.length) {
+                    return -1;
+                }
+                word = words[w];
+            }
+        }
+
+        // Index of the rank-th set bit, so random picks follow the same order as Party.aliveHeroes().
+        int select(int rank) {
+            for (int w = 0; w < words.length; w++) {
+                int bits = Long.bitCount(words[w]);
+                if (rank < bits) {
+                    long word = words[w];
+                    for (int k = 0; k < rank; k++) {
+                        word &= word - 1;
+                    }
+                    return (w << 6) + Long.numberOfTrailingZeros(word);
+                }
+                rank -= bits;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Rewrites a Prometheus text file from a registry at a fixed interval on a daemon thread, for a
+// node_exporter textfile collector or anything else that reads the file. close() writes once more.
+public final class MetricsExporter implements AutoCloseable {
+    private final MetricsRegistry registry;
+    private final Path file;
+    private final long intervalMillis;
+    private final Object lock = new Object();
+    private final Thread thread;
+    private boolean closed;
+
+    public MetricsExporter(MetricsRegistry registry, Path file, long intervalMillis) {
+        if (registry == null || file == null) {
+            throw new IllegalArgumentException("Registry and file are required");
+        }
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Export interval must be positive");
+        }
+        this.registry = registry;
+        this.file = file;
+        this.intervalMillis = intervalMillis;
+        thread = new Thread(this::export, "metrics-exporter");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void export() {
+        boolean last = false;
+        while (!last) {
+            synchronized (lock) {
+                long deadline = System.currentTimeMillis() + intervalMillis;
+                long remaining = intervalMillis;
+                while (!closed && remaining > 0) {
+                    try {
+                        lock.wait(remaining);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    remaining = deadline - System.currentTimeMillis();
+                }
+                last = closed;
+            }
+            try {
+                registry.write(file);
+            } catch (IOException e) {
+                System.err.println("Metrics export failed: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            lock.notify();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Named counters and histograms, each optionally tagged with label pairs, rendered in the Prometheus
+// text format or as a plain report. Registration is synchronized and meant for startup; the returned
+// Counter and Histogram are recorded into directly, so hot paths never look anything up.
+public final class MetricsRegistry {
+    private static final Pattern NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final Map<String, Family> families = new LinkedHashMap<>();
+
+    private record Family(String name, String help, String type, long divisor, Map<String, Object> children) {
+    }
+
+    // Returns the existing counter when the same name and labels were registered before.
+    public Counter counter(String name, String help, String... labels) {
+        return (Counter) register(name, help, "counter", 1, labels);
+    }
+
+    // Values are recorded as longs and divided by divisor on output, e.g. 1_000_000_000 to export
+    // nanoseconds as seconds. Exported as a Prometheus summary with fixed quantiles.
+    public Histogram histogram(String name, String help, long divisor, String... labels) {
+        if (divisor <= 0) {
+            throw new IllegalArgumentException("Divisor must be positive");
+        }
+        return (Histogram) register(name, help, "summary", divisor, labels);
+    }
+
+    private synchronized Object register(String name, String help, String type, long divisor, String... labels) {
+        if (name == null || !NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid metric name: " + name);
+        }
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name/value pairs");
+        }
+        Family family = families.computeIfAbsent(name,
+                key -> new Family(name, help, type, divisor, new LinkedHashMap<>()));
+        if (!family.type().equals(type) || family.divisor() != divisor) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a different kind");
+        }
+        return family.children().computeIfAbsent(labelText(labels),
+                key -> type.equals("counter") ? new Counter() : new Histogram());
+    }
+
+    private static String labelText(String... labels) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            if (!NAME.matcher(labels[i]).matches()) {
+                throw new IllegalArgumentException("Invalid label name: " + labels[i]);
+            }
+            text.append(text.length() == 0 ? "" : ",").append(labels[i]).append("=\"")
+                    .append(labels[i + 1].replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+                    .append('"');
+        }
+        return text.toString();
+    }
+
+    private synchronized List<Family> copy() {
+        List<Family> copy = new ArrayList<>();
+        for (Family family : families.values()) {
+            copy.add(new Family(family.name(), family.help(), family.type(), family.divisor(),
+                    new LinkedHashMap<>(family.children())));
+        }
+        return copy;
+    }
+
+    public String toPrometheus() {
+        StringBuilder text = new StringBuilder(4096);
+        for (Family family : copy()) {
+            text.append("# HELP ").append(family.name()).append(' ').append(family.help()).append('\n');
+            text.append("# TYPE ").append(family.name()).append(' ').append(family.type()).append('\n');
+            for (Map.Entry<String, Object> child : family.children().entrySet()) {
+                String labels = child.getKey();
+                if (child.getValue() instanceof Counter counter) {
+                    sample(text, family.name(), labels, counter.get());
+                    continue;
+                }
+                Histogram.Snapshot snapshot = ((Histogram) child.getValue()).snapshot();
+                for (double q : QUANTILES) {
+                    String quantile = (labels.isEmpty() ? "" : labels + ",") + "quantile=\"" + q + "\"";
+                    sample(text, family.name(), quantile, (double) snapshot.quantile(q) / family.divisor());
+                }
+                sample(text, family.name() + "_sum", labels, (double) snapshot.getSum() / family.divisor());
+                sample(text, family.name() + "_count", labels, snapshot.getCount());
+            }
+        }
+        return text.toString();
+    }
+
+    private static void sample(StringBuilder text, String name, String labels, double value) {
+        text.append(name);
+        if (!labels.isEmpty()) {
+            text.append('{').append(labels).append('}');
+        }
+        text.append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            text.append((long) value);
+        } else {
+            text.append(value);
+        }
+        text.append('\n');
+    }
+
+    // One line per counter or histogram, for the console.
+    public void report(OutputSink out) {
+        for (Family family : copy()) {
+            for (Map.Entry<String, Object> child : family.children().entrySet()) {
+                String name = child.getKey().isEmpty() ? family.name() : family.name() + "{" + child.getKey() + "}";
+                if (child.getValue() instanceof Counter counter) {
+                    out.printf("%s %d%n", name, counter.get());
+                    continue;
+                }
+                Histogram.Snapshot s = ((Histogram) child.getValue()).snapshot();
+                double divisor = family.divisor();
+                out.print(String.format(Locale.ROOT, "%s count=%d mean=%.4g p50=%.4g p99=%.4g max=%.4g%n", name,
+                        s.getCount(), s.getMean() / divisor, s.quantile(0.5) / divisor, s.quantile(0.99) / divisor,
+                        s.getMax() / divisor));
+            }
+        }
+    }
+
+    // Replaces the file atomically, so a scraper never reads a half-written exposition.
+    public void write(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(temp, toPrometheus(), StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -1,18 +1,30 @@
 public abstract class Monster extends Entity {
+    private final MonsterArchetype archetype;
     private int minDamage;
     private int maxDamage;
     private int defense;
     private double dodgeChance; // 0.0 to 1.0
 
-    protected Monster(String name, int level, int maxHealth, int minDamage, int maxDamage, int defense, double dodgeChance) {
-        super(name, level, maxHealth);
-        if (minDamage < 0 || maxDamage < minDamage || defense < 0 || dodgeChance < 0) {
-            throw new IllegalArgumentException("Invalid monster attributes");
-        }
-        this.minDamage = minDamage;
-        this.maxDamage = maxDamage;
-        this.defense = defense;
-        this.dodgeChance = dodgeChance;
+    protected Monster(MonsterArchetype archetype) {
+        super(archetype.name(), archetype.level(), archetype.maxHealth());
+        this.archetype = archetype;
+        this.minDamage = archetype.minDamage();
+        this.maxDamage = archetype.maxDamage();
+        this.defense = archetype.defense();
+        this.dodgeChance = archetype.dodgeChance();
+    }
+
+    public MonsterArchetype getArchetype() {
+        return archetype;
+    }
+
+    // Clears debuffs and damage so a pooled instance can enter a new battle.
+    public void reset() {
+        restoreFullHealth();
+        minDamage = archetype.minDamage();
+        maxDamage = archetype.maxDamage();
+        defense = archetype.defense();
+        dodgeChance = archetype.dodgeChance();
     }
 
     public int getMinDamage() {
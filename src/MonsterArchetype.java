@@ -0,0 +1,17 @@
+// Immutable base stats shared by every live instance of a monster.
+public record MonsterArchetype(MonsterKind kind, String name, int level, int maxHealth, int minDamage,
+                               int maxDamage, int defense, double dodgeChance) {
+
+    public MonsterArchetype {
+        if (kind == null) {
+            throw new IllegalArgumentException("Monster kind is required");
+        }
+        if (minDamage < 0 || maxDamage < minDamage || defense < 0 || dodgeChance < 0) {
+            throw new IllegalArgumentException("Invalid monster attributes");
+        }
+    }
+
+    public Monster instantiate() {
+        return kind.create(this);
+    }
+}
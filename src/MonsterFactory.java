@@ -3,59 +3,111 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 
 public class MonsterFactory {
-    private final DragonLoader dragonLoader = new DragonLoader();
-    private final ExoskeletonLoader exoskeletonLoader = new ExoskeletonLoader();
-    private final SpiritLoader spiritLoader = new SpiritLoader();
-    private final Random random = new Random();
+    private final DataLoader<Dragon> dragonLoader;
+    private final DataLoader<Exoskeleton> exoskeletonLoader;
+    private final DataLoader<Spirit> spiritLoader;
+    private final RandomGenerator random;
+    private final MonsterPool monsterPool = new MonsterPool();
+    private volatile IndexedPool lastIndexed;
+
+    public MonsterFactory() {
+        this(new SplittableRandom());
+    }
+
+    public MonsterFactory(RandomGenerator random) {
+        this(random, null);
+    }
+
+    public MonsterFactory(RandomGenerator random, CatalogSnapshot snapshot) {
+        this.random = random;
+        dragonLoader = SnapshotLoader.wrap(snapshot, new SchemaLoader<>(CatalogSchemas.DRAGONS), Dragon.class);
+        exoskeletonLoader = SnapshotLoader.wrap(snapshot, new SchemaLoader<>(CatalogSchemas.EXOSKELETONS), Exoskeleton.class);
+        spiritLoader = SnapshotLoader.wrap(snapshot, new SchemaLoader<>(CatalogSchemas.SPIRITS), Spirit.class);
+    }
 
     public List<Monster> loadAll(Path dragonsFile, Path exoskeletonsFile, Path spiritsFile) throws IOException {
-        List<Monster> monsters = new ArrayList<>();
-        monsters.addAll(dragonLoader.load(dragonsFile));
-        monsters.addAll(exoskeletonLoader.load(exoskeletonsFile));
-        monsters.addAll(spiritLoader.load(spiritsFile));
-        return Collections.unmodifiableList(monsters);
+        try (LoadBatch batch = new LoadBatch()) {
+            Supplier<List<Monster>> monsters = loadAll(batch, dragonsFile, exoskeletonsFile, spiritsFile);
+            batch.await();
+            return monsters.get();
+        }
+    }
+
+    public Supplier<List<Monster>> loadAll(LoadBatch batch, Path dragonsFile, Path exoskeletonsFile,
+                                           Path spiritsFile) {
+        LoadBatch.Pending<Dragon> dragons = batch.submit(dragonsFile, dragonLoader);
+        LoadBatch.Pending<Exoskeleton> exoskeletons = batch.submit(exoskeletonsFile, exoskeletonLoader);
+        LoadBatch.Pending<Spirit> spirits = batch.submit(spiritsFile, spiritLoader);
+        return () -> {
+            List<Monster> monsters = new ArrayList<>();
+            monsters.addAll(dragons.get());
+            monsters.addAll(exoskeletons.get());
+            monsters.addAll(spirits.get());
+            return Collections.unmodifiableList(monsters);
+        };
     }
 
     public List<Monster> spawnForLevel(List<Monster> pool, int level, int count) {
-        List<Monster> candidates = pool.stream()
-                .filter(m -> m.getLevel() == level)
-                .toList();
-        if (candidates.isEmpty()) {
-            int closestDiff = pool.stream()
-                    .mapToInt(m -> Math.abs(m.getLevel() - level))
-                    .min()
-                    .orElse(Integer.MAX_VALUE);
-            candidates = pool.stream()
-                    .filter(m -> Math.abs(m.getLevel() - level) == closestDiff)
-                    .toList();
-        }
+        return spawnForLevel(indexFor(pool), level, count);
+    }
+
+    public List<Monster> spawnForLevel(MonsterIndex index, int level, int count) {
+        return spawnForLevel(index, level, count, null);
+    }
+
+    public List<Monster> spawnForLevel(MonsterIndex index, int level, int count, Class<? extends Monster> type) {
+        List<Monster> candidates = index.candidates(level, type);
         List<Monster> spawned = new ArrayList<>();
         for (int i = 0; i < count; i++) {
             if (candidates.isEmpty()) {
                 break;
             }
             Monster template = candidates.get(random.nextInt(candidates.size()));
-            spawned.add(cloneMonster(template));
+            spawned.add(monsterPool.acquire(template.getArchetype()));
         }
         return spawned;
     }
 
-    private Monster cloneMonster(Monster template) {
-        if (template instanceof Dragon d) {
-            return new Dragon(d.getName(), d.getLevel(), d.getMaxHealth(), d.getMinDamage(), d.getMaxDamage(),
-                    d.getDefense(), d.getDodgeChance());
-        }
-        if (template instanceof Exoskeleton e) {
-            return new Exoskeleton(e.getName(), e.getLevel(), e.getMaxHealth(), e.getMinDamage(), e.getMaxDamage(),
-                    e.getDefense(), e.getDodgeChance());
+    // Rolls the zone's type weights once per monster, so a group can mix types the way an unweighted draw
+    // from every monster at the level does. A type with nothing at this level falls back to any type.
+    public List<Monster> spawnForZone(MonsterIndex index, int level, int count, Zone zone) {
+        List<Monster> spawned = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<Monster> candidates = index.candidates(level, zone.pickType(random));
+            if (candidates.isEmpty()) {
+                candidates = index.candidates(level, null);
+            }
+            if (candidates.isEmpty()) {
+                break;
+            }
+            Monster template = candidates.get(random.nextInt(candidates.size()));
+            spawned.add(monsterPool.acquire(template.getArchetype()));
         }
-        if (template instanceof Spirit s) {
-            return new Spirit(s.getName(), s.getLevel(), s.getMaxHealth(), s.getMinDamage(), s.getMaxDamage(),
-                    s.getDefense(), s.getDodgeChance());
+        return spawned;
+    }
+
+    private MonsterIndex indexFor(List<Monster> pool) {
+        IndexedPool cached = lastIndexed;
+        if (cached == null || cached.pool() != pool) {
+            cached = new IndexedPool(pool, new MonsterIndex(pool));
+            lastIndexed = cached;
         }
-        throw new IllegalArgumentException("Unknown monster type");
+        return cached.index();
+    }
+
+    public Monster cloneMonster(Monster template) {
+        return template.getArchetype().instantiate();
+    }
+
+    public void release(List<Monster> spawned) {
+        monsterPool.releaseAll(spawned);
+    }
+
+    private record IndexedPool(List<Monster> pool, MonsterIndex index) {
     }
 }
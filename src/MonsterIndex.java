@@ -0,0 +1,108 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Level-bucketed view over a monster pool, built once at load time. Exact levels resolve with a hash
+// lookup, missing levels with a binary search over the distinct levels. Candidates keep pool order.
+public class MonsterIndex {
+    private final Map<Integer, List<Monster>> byLevel = new HashMap<>();
+    private final Map<Integer, List<Monster>> tiesByMidpoint = new HashMap<>();
+    private final int[] levels;
+    private final Map<Class<? extends Monster>, MonsterIndex> byType;
+
+    public MonsterIndex(List<Monster> pool) {
+        this(pool, true);
+    }
+
+    private MonsterIndex(List<Monster> pool, boolean withTypes) {
+        Map<Integer, List<Integer>> positions = new HashMap<>();
+        for (int i = 0; i < pool.size(); i++) {
+            positions.computeIfAbsent(pool.get(i).getLevel(), k -> new ArrayList<>()).add(i);
+        }
+        levels = positions.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        for (int level : levels) {
+            byLevel.put(level, toMonsters(pool, positions.get(level)));
+        }
+        // A level exactly between two populated levels takes candidates from both, as spawnForLevel always has.
+        for (int i = 0; i + 1 < levels.length; i++) {
+            int low = levels[i];
+            int high = levels[i + 1];
+            if ((high - low) % 2 == 0) {
+                tiesByMidpoint.put(low + (high - low) / 2,
+                        toMonsters(pool, merge(positions.get(low), positions.get(high))));
+            }
+        }
+        if (withTypes) {
+            Map<Class<? extends Monster>, List<Monster>> groups = new LinkedHashMap<>();
+            for (Monster m : pool) {
+                groups.computeIfAbsent(m.getClass(), k -> new ArrayList<>()).add(m);
+            }
+            Map<Class<? extends Monster>, MonsterIndex> types = new HashMap<>();
+            groups.forEach((type, members) -> types.put(type, new MonsterIndex(members, false)));
+            byType = Collections.unmodifiableMap(types);
+        } else {
+            byType = Map.of();
+        }
+    }
+
+    public boolean isEmpty() {
+        return levels.length == 0;
+    }
+
+    public List<Monster> candidates(int level) {
+        List<Monster> exact = byLevel.get(level);
+        if (exact != null) {
+            return exact;
+        }
+        if (levels.length == 0) {
+            return List.of();
+        }
+        int insertion = -Arrays.binarySearch(levels, level) - 1;
+        if (insertion == 0) {
+            return byLevel.get(levels[0]);
+        }
+        if (insertion == levels.length) {
+            return byLevel.get(levels[levels.length - 1]);
+        }
+        int below = levels[insertion - 1];
+        int above = levels[insertion];
+        if (level - below == above - level) {
+            return tiesByMidpoint.get(level);
+        }
+        return byLevel.get(level - below < above - level ? below : above);
+    }
+
+    public List<Monster> candidates(int level, Class<? extends Monster> type) {
+        if (type == null) {
+            return candidates(level);
+        }
+        MonsterIndex typed = byType.get(type);
+        return typed != null ? typed.candidates(level) : List.of();
+    }
+
+    private static List<Monster> toMonsters(List<Monster> pool, List<Integer> positions) {
+        List<Monster> monsters = new ArrayList<>(positions.size());
+        for (int p : positions) {
+            monsters.add(pool.get(p));
+        }
+        return Collections.unmodifiableList(monsters);
+    }
+
+    private static List<Integer> merge(List<Integer> a, List<Integer> b) {
+        List<Integer> merged = new ArrayList<>(a.size() + b.size());
+        int i = 0;
+        int j = 0;
+        while (i < a.size() || j < b.size()) {
+            if (j == b.size() || (i < a.size() && a.get(i) < b.get(j))) {
+                merged.add(a.get(i++));
+            } else {
+                merged.add(b.get(j++));
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,17 @@
+import java.util.function.Function;
+
+public enum MonsterKind {
+    DRAGON(Dragon::new),
+    EXOSKELETON(Exoskeleton::new),
+    SPIRIT(Spirit::new);
+
+    private final Function<MonsterArchetype, Monster> constructor;
+
+    MonsterKind(Function<MonsterArchetype, Monster> constructor) {
+        this.constructor = constructor;
+    }
+
+    public Monster create(MonsterArchetype archetype) {
+        return constructor.apply(archetype);
+    }
+}
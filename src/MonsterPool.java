@@ -0,0 +1,50 @@
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Recycles monster instances per archetype so encounters stop allocating fresh monsters.
+// Not thread-safe: each game session or simulation worker owns its own pool.
+public class MonsterPool {
+    private static final int DEFAULT_MAX_IDLE_PER_ARCHETYPE = 8;
+
+    private final Map<MonsterArchetype, ArrayDeque<Monster>> idle = new HashMap<>();
+    private final int maxIdlePerArchetype;
+
+    public MonsterPool() {
+        this(DEFAULT_MAX_IDLE_PER_ARCHETYPE);
+    }
+
+    public MonsterPool(int maxIdlePerArchetype) {
+        if (maxIdlePerArchetype < 0) {
+            throw new IllegalArgumentException("Idle limit cannot be negative");
+        }
+        this.maxIdlePerArchetype = maxIdlePerArchetype;
+    }
+
+    public Monster acquire(MonsterArchetype archetype) {
+        ArrayDeque<Monster> free = idle.get(archetype);
+        Monster monster = free != null ? free.pollFirst() : null;
+        if (monster == null) {
+            return archetype.instantiate();
+        }
+        monster.reset();
+        return monster;
+    }
+
+    public void release(Monster monster) {
+        if (monster == null) {
+            return;
+        }
+        ArrayDeque<Monster> free = idle.computeIfAbsent(monster.getArchetype(), k -> new ArrayDeque<>());
+        if (free.size() < maxIdlePerArchetype) {
+            free.addFirst(monster);
+        }
+    }
+
+    public void releaseAll(List<Monster> monsters) {
+        for (Monster monster : monsters) {
+            release(monster);
+        }
+    }
+}
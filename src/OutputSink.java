@@ -0,0 +1,65 @@
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+
+// Destination for game text. Output is batched and only written on flush(), which callers issue
+// before waiting for input. Implementations are not thread-safe.
+public interface OutputSink {
+    OutputSink NULL = new OutputSink() {
+        @Override
+        public void print(CharSequence text) {
+        }
+
+        @Override
+        public void printf(String format, Object... args) {
+        }
+
+        @Override
+        public void flush() {
+        }
+    };
+
+    // Buffered UTF-8 sink over the process's standard output, bypassing System.out's locking and autoflush.
+    static OutputSink console() {
+        return new BufferedOutputSink(new FileOutputStream(FileDescriptor.out));
+    }
+
+    // Unbuffered adapter for code that still shares a PrintStream with other writers.
+    static OutputSink of(PrintStream stream) {
+        return new OutputSink() {
+            @Override
+            public void print(CharSequence text) {
+                stream.print(text);
+            }
+
+            @Override
+            public void printf(String format, Object... args) {
+                stream.printf(format, args);
+            }
+
+            @Override
+            public void flush() {
+                stream.flush();
+            }
+        };
+    }
+
+    void print(CharSequence text);
+
+    void printf(String format, Object... args);
+
+    void flush();
+
+    default void println(CharSequence text) {
+        print(text);
+        println();
+    }
+
+    default void println(Object value) {
+        println(String.valueOf(value));
+    }
+
+    default void println() {
+        print(System.lineSeparator());
+    }
+}
@@ -2,7 +2,12 @@ public class Paladin extends Hero {
 
     public Paladin(String name, int level, int maxHealth, int maxMana, int strength, int dexterity, int agility,
                    int gold, int experience) {
-        super(name, level, maxHealth, maxMana, strength, dexterity, agility, gold, experience);
+        this(new HeroArchetype(HeroKind.PALADIN, name, level, maxHealth, maxMana, strength, dexterity, agility,
+                gold, experience));
+    }
+
+    public Paladin(HeroArchetype archetype) {
+        super(archetype);
     }
 
     @Override
@@ -0,0 +1,96 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// A* over the accessible tiles of a grid with 4-way moves and a Manhattan heuristic. The search is
+// confined to the bounding box of the two endpoints plus a margin, so its cost depends on the
+// distance travelled rather than on the size of the map.
+public final class Pathfinder {
+    public static final int MARGIN = 32;
+    public static final int MAX_SEARCH_CELLS = 1 << 22;
+    private static final int[] ROW_STEPS = {-1, 1, 0, 0};
+    private static final int[] COL_STEPS = {0, 0, -1, 1};
+
+    public record Cell(int row, int col) {
+    }
+
+    private Pathfinder() {
+    }
+
+    // Cells to step through after the start, ending at the goal; empty if already there, null if the
+    // goal cannot be reached within the search box.
+    public static List<Cell> findPath(TileGrid grid, int fromRow, int fromCol, int toRow, int toCol) {
+        if (!grid.isWithinBounds(fromRow, fromCol) || !grid.isWithinBounds(toRow, toCol)) {
+            throw new IllegalArgumentException("Path endpoints must lie on the map");
+        }
+        if (!Tile.isAccessible(grid.getKind(toRow, toCol))) {
+            return null;
+        }
+        if (fromRow == toRow && fromCol == toCol) {
+            return List.of();
+        }
+        int top = Math.max(0, Math.min(fromRow, toRow) - MARGIN);
+        int left = Math.max(0, Math.min(fromCol, toCol) - MARGIN);
+        int bottom = Math.min(grid.getRows(), Math.max(fromRow, toRow) + MARGIN + 1);
+        int right = Math.min(grid.getCols(), Math.max(fromCol, toCol) + MARGIN + 1);
+        int width = right - left;
+        long cells = (long) (bottom - top) * width;
+        if (cells > MAX_SEARCH_CELLS) {
+            throw new IllegalArgumentException("Destination is too far away for a single search");
+        }
+        int[] cost = new int[(int) cells];
+        int[] previous = new int[(int) cells];
+        Arrays.fill(cost, Integer.MAX_VALUE);
+        LongHeap open = new LongHeap();
+        int start = (fromRow - top) * width + (fromCol - left);
+        int goal = (toRow - top) * width + (toCol - left);
+        cost[start] = 0;
+        previous[start] = -1;
+        open.add(pack(manhattan(fromRow, fromCol, toRow, toCol), start));
+        while (!open.isEmpty()) {
+            long entry = open.poll();
+            int cell = (int) entry;
+            int row = top + cell / width;
+            int col = left + cell % width;
+            if (cell == goal) {
+                return trace(previous, goal, top, left, width);
+            }
+            if ((int) (entry >>> 32) > cost[cell] + manhattan(row, col, toRow, toCol)) {
+                continue; // stale entry
+            }
+            for (int d = 0; d < 4; d++) {
+                int nr = row + ROW_STEPS[d];
+                int nc = col + COL_STEPS[d];
+                if (nr < top || nc < left || nr >= bottom || nc >= right || !Tile.isAccessible(grid.getKind(nr, nc))) {
+                    continue;
+                }
+                int next = (nr - top) * width + (nc - left);
+                int g = cost[cell] + 1;
+                if (g < cost[next]) {
+                    cost[next] = g;
+                    previous[next] = cell;
+                    open.add(pack(g + manhattan(nr, nc, toRow, toCol), next));
+                }
+            }
+        }
+        return null;
+    }
+
+    private static List<Cell> trace(int[] previous, int goal, int top, int left, int width) {
+        List<Cell> path = new ArrayList<>();
+        for (int cell = goal; previous[cell] >= 0; cell = previous[cell]) {
+            path.add(new Cell(top + cell / width, left + cell % width));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private static long pack(int priority, int cell) {
+        return ((long) priority << 32) | (cell & 0xFFFFFFFFL);
+    }
+
+    private static int manhattan(int r1, int c1, int r2, int c2) {
+        return Math.abs(r1 - r2) + Math.abs(c1 - c2);
+    }
+}
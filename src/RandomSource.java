@@ -0,0 +1,25 @@
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+public final class RandomSource {
+    private final long seed;
+    private final SplittableRandom root;
+
+    public RandomSource(long seed) {
+        this.seed = seed;
+        this.root = new SplittableRandom(seed);
+    }
+
+    public static RandomSource fromEntropy() {
+        return new RandomSource(new SplittableRandom().nextLong());
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // Each call hands out an independent stream; the sequence of streams is fixed by the seed.
+    public synchronized RandomGenerator split() {
+        return root.split();
+    }
+}
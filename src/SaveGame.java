@@ -0,0 +1,252 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+// Immutable copy of everything needed to resume a game. Heroes and items are stored by their catalog
+// names rather than serialized, and the map is stored as its generation seed plus any tiles changed
+// since, so a save stays a few hundred bytes regardless of map size.
+// Layout: magic, version, map size and seeds, hero position, tile edits, heroes, then a CRC32 of all
+// preceding bytes. Version 2 adds the seed the game's random streams restart from and the journal
+// record that seed was logged as; version 1 files load with journalSequence -1 and no reseed.
+public record SaveGame(int mapSize, long mapSeed, long zoneSeed, int heroRow, int heroCol, Map<Long, Byte> edits,
+                       List<HeroState> heroes, long seed, long journalSequence) {
+    public static final int MAGIC = 0x4C4D4853; // "LMHS"
+    public static final int VERSION = 2;
+
+    public SaveGame {
+        if (mapSize <= 0 || heroes == null || heroes.isEmpty()) {
+            throw new IllegalArgumentException("A save needs a map and at least one hero");
+        }
+        edits = Collections.unmodifiableMap(new LinkedHashMap<>(edits));
+        heroes = List.copyOf(heroes);
+    }
+
+    public record HeroState(String name, int level, int health, int maxHealth, int mana, int maxMana, int strength,
+                            int dexterity, int agility, int gold, int experience, Map<String, Integer> inventory,
+                            String weapon, String armor) {
+
+        public HeroState {
+            inventory = Collections.unmodifiableMap(new LinkedHashMap<>(inventory));
+        }
+
+        static HeroState of(Hero hero) {
+            Map<String, Integer> stacks = new LinkedHashMap<>();
+            Inventory inventory = hero.getInventory();
+            // Distinct items can share a name; their counts add up rather than replace each other.
+            for (Item item : inventory.getAll()) {
+                stacks.merge(item.getName(), inventory.count(item), Integer::sum);
+            }
+            Weapon weapon = hero.getEquipment().getWeapon();
+            Armor armor = hero.getEquipment().getArmor();
+            return new HeroState(hero.getName(), hero.getLevel(), hero.getHealth(), hero.getMaxHealth(),
+                    hero.getMana(), hero.getMaxMana(), hero.getStrength(), hero.getDexterity(), hero.getAgility(),
+                    hero.getGold(), hero.getExperience(), stacks, weapon != null ? weapon.getName() : null,
+                    armor != null ? armor.getName() : null);
+        }
+    }
+
+    // Cheap enough to call on the game thread after every command: a handful of heroes plus the edit log.
+    public static SaveGame capture(Party party, GameMap map, long mapSeed, long zoneSeed, long seed,
+                                   long journalSequence) {
+        List<HeroState> heroes = new ArrayList<>();
+        for (Hero hero : party.getHeroes()) {
+            heroes.add(HeroState.of(hero));
+        }
+        return new SaveGame(map.getSize(), mapSeed, zoneSeed, map.getHeroRow(), map.getHeroCol(), map.getEdits(),
+                heroes, seed, journalSequence);
+    }
+
+    public Party restoreParty(Catalog catalog, HeroFactory heroFactory) throws IOException {
+        Map<String, Hero> templates = new HashMap<>();
+        for (Hero hero : catalog.getHeroes()) {
+            templates.put(hero.getName(), hero);
+        }
+        Map<String, Item> items = new HashMap<>();
+        MarketFactory.Stock stock = catalog.getStock();
+        for (List<? extends Item> category : List.of(stock.getWeapons(), stock.getArmors(),
+                stock.getPotions(), stock.getSpells())) {
+            for (Item item : category) {
+                items.put(item.getName(), item);
+            }
+        }
+        List<Hero> members = new ArrayList<>();
+        for (HeroState state : heroes) {
+            Hero template = templates.get(state.name());
+            if (template == null) {
+                throw new IOException("Save references unknown hero " + state.name());
+            }
+            Hero hero = heroFactory.cloneHero(template);
+            hero.restore(state);
+            for (Map.Entry<String, Integer> stack : state.inventory().entrySet()) {
+                Item item = lookup(items, stack.getKey());
+                for (int i = 0; i < stack.getValue(); i++) {
+                    hero.getInventory().add(item);
+                }
+            }
+            if (state.weapon() != null) {
+                hero.getEquipment().equipWeapon((Weapon) lookup(items, state.weapon()));
+            }
+            if (state.armor() != null) {
+                hero.getEquipment().equipArmor((Armor) lookup(items, state.armor()));
+            }
+            members.add(hero);
+        }
+        return new Party(members);
+    }
+
+    // Regenerates the map and replays tile edits. The party is left on the generated start tile, which
+    // anchors the zone layout; callers move it to (heroRow, heroCol) once the map is set up.
+    public GameMap restoreMap(Market market) {
+        GameMap map = GameMap.generate(mapSize, market, mapSeed);
+        MarketTile marketTile = new MarketTile(market);
+        for (Map.Entry<Long, Byte> edit : edits.entrySet()) {
+            Tile tile = switch (edit.getValue()) {
+                case Tile.INACCESSIBLE -> InaccessibleTile.INSTANCE;
+                case Tile.MARKET -> marketTile;
+                default -> CommonTile.INSTANCE;
+            };
+            map.setTile((int) (edit.getKey() >>> 32), (int) (long) edit.getKey(), tile);
+        }
+        return map;
+    }
+
+    private static Item lookup(Map<String, Item> items, String name) throws IOException {
+        Item item = items.get(name);
+        if (item == null) {
+            throw new IOException("Save references unknown item " + name);
+        }
+        return item;
+    }
+
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(mapSize);
+            out.writeLong(mapSeed);
+            out.writeLong(zoneSeed);
+            out.writeInt(heroRow);
+            out.writeInt(heroCol);
+            out.writeInt(edits.size());
+            for (Map.Entry<Long, Byte> edit : edits.entrySet()) {
+                out.writeLong(edit.getKey());
+                out.writeByte(edit.getValue());
+            }
+            out.writeByte(heroes.size());
+            for (HeroState h : heroes) {
+                CatalogCodec.writeString(out, h.name());
+                for (int stat : new int[] {h.level(), h.health(), h.maxHealth(), h.mana(), h.maxMana(), h.strength(),
+                        h.dexterity(), h.agility(), h.gold(), h.experience()}) {
+                    out.writeInt(stat);
+                }
+                out.writeShort(h.inventory().size());
+                for (Map.Entry<String, Integer> stack : h.inventory().entrySet()) {
+                    CatalogCodec.writeString(out, stack.getKey());
+                    out.writeInt(stack.getValue());
+                }
+                CatalogCodec.writeString(out, h.weapon() != null ? h.weapon() : "");
+                CatalogCodec.writeString(out, h.armor() != null ? h.armor() : "");
+            }
+            out.writeLong(seed);
+            out.writeLong(journalSequence);
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            out.writeLong(crc.getValue());
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory save encoding failed", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static SaveGame decode(ByteBuffer in) throws IOException {
+        try {
+            if (in.remaining() < 16 || in.getInt() != MAGIC) {
+                throw new IOException("Not a save file");
+            }
+            CRC32 crc = new CRC32();
+            crc.update(in.duplicate().position(0).limit(in.limit() - Long.BYTES));
+            if (in.getLong(in.limit() - Long.BYTES) != crc.getValue()) {
+                throw new IOException("Save file is corrupt (checksum mismatch)");
+            }
+            int version = in.getInt();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Unsupported save version " + version);
+            }
+            int mapSize = in.getInt();
+            long mapSeed = in.getLong();
+            long zoneSeed = in.getLong();
+            int heroRow = in.getInt();
+            int heroCol = in.getInt();
+            int editCount = in.getInt();
+            Map<Long, Byte> edits = new LinkedHashMap<>();
+            for (int i = 0; i < editCount; i++) {
+                edits.put(in.getLong(), in.get());
+            }
+            int heroCount = in.get();
+            List<HeroState> heroes = new ArrayList<>();
+            for (int i = 0; i < heroCount; i++) {
+                String name = CatalogCodec.readString(in);
+                int[] stats = new int[10];
+                for (int s = 0; s < stats.length; s++) {
+                    stats[s] = in.getInt();
+                }
+                int stackCount = Short.toUnsignedInt(in.getShort());
+                Map<String, Integer> inventory = new LinkedHashMap<>();
+                for (int s = 0; s < stackCount; s++) {
+                    inventory.put(CatalogCodec.readString(in), in.getInt());
+                }
+                String weapon = CatalogCodec.readString(in);
+                String armor = CatalogCodec.readString(in);
+                heroes.add(new HeroState(name, stats[0], stats[1], stats[2], stats[3], stats[4], stats[5], stats[6],
+                        stats[7], stats[8], stats[9], inventory, weapon.isEmpty() ? null : weapon,
+                        armor.isEmpty() ? null : armor));
+            }
+            long seed = version >= 2 ? in.getLong() : 0;
+            long journalSequence = version >= 2 ? in.getLong() : -1;
+            return new SaveGame(mapSize, mapSeed, zoneSeed, heroRow, heroCol, edits, heroes, seed, journalSequence);
+        } catch (BufferUnderflowException | BufferOverflowException | IllegalArgumentException e) {
+            throw new IOException("Save file is corrupt", e);
+        }
+    }
+
+    public static SaveGame read(Path file) throws IOException {
+        return decode(ByteBuffer.wrap(Files.readAllBytes(file)));
+    }
+
+    // Writes to a sibling temp file, forces it to disk, then renames it over the old save, so a crash
+    // leaves either the previous save or the new one, never a torn file.
+    public void write(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer data = ByteBuffer.wrap(encode());
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Path dir = file.toAbsolutePath().getParent();
+        try (FileChannel directory = FileChannel.open(dir, StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException ignored) {
+            // Not every platform can open a directory for syncing; the rename itself is still atomic.
+        }
+    }
+}
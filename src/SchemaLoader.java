@@ -0,0 +1,60 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class SchemaLoader<T> implements DataLoader<T> {
+    private static final long MAP_THRESHOLD = 1 << 20;
+
+    private final CatalogSchema<T> schema;
+
+    public SchemaLoader(CatalogSchema<T> schema) {
+        this.schema = schema;
+    }
+
+    public CatalogSchema<T> getSchema() {
+        return schema;
+    }
+
+    @Override
+    public Stream<T> stream(Path path) throws IOException {
+        return stream(path, read(path));
+    }
+
+    // Parses bytes already read from path; path is only used in error messages.
+    Stream<T> stream(Path path, ByteBuffer data) {
+        return StreamSupport.stream(new CatalogSpliterator<>(schema, path, data), false);
+    }
+
+    @Override
+    public List<T> load(Path path) throws IOException {
+        ByteBuffer data = read(path);
+        CatalogParser<T> parser = new CatalogParser<>(schema, path, data, 0, data.limit(), 1);
+        List<T> records = new ArrayList<>();
+        T record;
+        while ((record = parser.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    // Small files are read onto the heap; large ones are memory-mapped.
+    static ByteBuffer read(Path path) throws IOException {
+        if (Files.size(path) <= MAP_THRESHOLD) {
+            return ByteBuffer.wrap(Files.readAllBytes(path));
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Catalog file too large to map: " + path);
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+}
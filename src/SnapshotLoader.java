@@ -0,0 +1,34 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Serves records from a catalog snapshot and falls back to the text loader when the snapshot is
+// missing or the source file has changed since it was compiled.
+public class SnapshotLoader<T> implements DataLoader<T> {
+    private final CatalogSnapshot snapshot;
+    private final DataLoader<T> textLoader;
+    private final Class<T> type;
+
+    public SnapshotLoader(CatalogSnapshot snapshot, DataLoader<T> textLoader, Class<T> type) {
+        this.snapshot = snapshot;
+        this.textLoader = textLoader;
+        this.type = type;
+    }
+
+    public static <T> DataLoader<T> wrap(CatalogSnapshot snapshot, DataLoader<T> textLoader, Class<T> type) {
+        return snapshot == null ? textLoader : new SnapshotLoader<>(snapshot, textLoader, type);
+    }
+
+    @Override
+    public Stream<T> stream(Path path) throws IOException {
+        Stream<T> cached = snapshot.stream(path, type);
+        return cached != null ? cached : textLoader.stream(path);
+    }
+
+    @Override
+    public List<T> load(Path path) throws IOException {
+        List<T> cached = snapshot.read(path, type);
+        return cached != null ? cached : textLoader.load(path);
+    }
+}
@@ -2,7 +2,12 @@ public class Sorcerer extends Hero {
 
     public Sorcerer(String name, int level, int maxHealth, int maxMana, int strength, int dexterity, int agility,
                     int gold, int experience) {
-        super(name, level, maxHealth, maxMana, strength, dexterity, agility, gold, experience);
+        this(new HeroArchetype(HeroKind.SORCERER, name, level, maxHealth, maxMana, strength, dexterity, agility,
+                gold, experience));
+    }
+
+    public Sorcerer(HeroArchetype archetype) {
+        super(archetype);
     }
 
     @Override
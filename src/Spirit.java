@@ -1,6 +1,11 @@
 public class Spirit extends Monster {
 
     public Spirit(String name, int level, int maxHealth, int minDamage, int maxDamage, int defense, double dodgeChance) {
-        super(name, level, maxHealth, minDamage, maxDamage, defense, dodgeChance);
+        this(new MonsterArchetype(MonsterKind.SPIRIT, name, level, maxHealth, minDamage, maxDamage, defense,
+                dodgeChance));
+    }
+
+    public Spirit(MonsterArchetype archetype) {
+        super(archetype);
     }
 }
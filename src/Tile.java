@@ -1,19 +1,15 @@
+// Tiles are flyweights shared by every cell of the same kind; a grid stores only the kind byte per
+// cell, and per-cell data such as a market lives in a side table.
 public abstract class Tile {
-    private final int row;
-    private final int col;
+    public static final byte COMMON = 0;
+    public static final byte INACCESSIBLE = 1;
+    public static final byte MARKET = 2;
 
-    protected Tile(int row, int col) {
-        this.row = row;
-        this.col = col;
-    }
+    public abstract byte getKind();
 
-    public int getRow() {
-        return row;
-    }
+    public abstract boolean isAccessible();
 
-    public int getCol() {
-        return col;
+    public static boolean isAccessible(byte kind) {
+        return kind != INACCESSIBLE;
     }
-
-    public abstract boolean isAccessible();
 }
@@ -0,0 +1,21 @@
+// Access to the terrain of a map. Implementations may build tiles lazily.
+public interface TileGrid {
+    int getRows();
+
+    int getCols();
+
+    // One of the Tile kind constants; cheaper than getTile for scans.
+    byte getKind(int row, int col);
+
+    Tile getTile(int row, int col);
+
+    void setTile(int row, int col, Tile tile);
+
+    default boolean isWithinBounds(int row, int col) {
+        return row >= 0 && col >= 0 && row < getRows() && col < getCols();
+    }
+
+    // Called when the party moves, so lazily built grids can drop terrain far from it.
+    default void focus(int row, int col) {
+    }
+}
@@ -0,0 +1,4 @@
+// Notified when a map cell changes kind, so caches derived from the terrain can update.
+public interface TileListener {
+    void onTileChanged(int row, int col, byte before, byte after);
+}
@@ -0,0 +1,139 @@
+// Draws a window of the map centered on the hero using ANSI cursor addressing. The first frame
+// clears the screen and draws the frame; later frames rewrite only the cells whose symbol changed.
+// Everything below the map is a scroll region, so game text scrolls without disturbing the map.
+// Each frame is assembled in memory and handed to the sink as one piece.
+public class ViewportRenderer {
+    private static final String CSI = "\u001B[";
+    private static final String SAVE_CURSOR = "\u001B7";
+    private static final String RESTORE_CURSOR = "\u001B8";
+    private static final String RESET = CSI + "0m";
+    private static final String CYAN = CSI + "36m";
+    private static final String GREEN = CSI + "32m";
+    private static final String RED = CSI + "31m";
+    private static final String YELLOW = CSI + "33m";
+    private static final int FIRST_MAP_LINE = 4;
+
+    private final int viewRows;
+    private final int viewCols;
+    private final OutputSink out;
+    private final StringBuilder frame = new StringBuilder();
+    private char[] previous = new char[0];
+    private int rows;
+    private int cols;
+    private boolean drawn;
+
+    public ViewportRenderer(OutputSink out) {
+        this(GameMap.VIEWPORT, GameMap.VIEWPORT, out);
+    }
+
+    public ViewportRenderer(int viewRows, int viewCols, OutputSink out) {
+        if (viewRows <= 0 || viewCols <= 0 || out == null) {
+            throw new IllegalArgumentException("Invalid viewport");
+        }
+        this.viewRows = viewRows;
+        this.viewCols = viewCols;
+        this.out = out;
+    }
+
+    // Forces the next frame to redraw the whole screen.
+    public void invalidate() {
+        drawn = false;
+    }
+
+    public void render(GameMap map) {
+        int size = map.getSize();
+        int frameRows = Math.min(viewRows, size);
+        int frameCols = Math.min(viewCols, size);
+        int firstRow = GameMap.viewportStart(map.getHeroRow(), frameRows, size);
+        int firstCol = GameMap.viewportStart(map.getHeroCol(), frameCols, size);
+        frame.setLength(0);
+        if (!drawn || frameRows != rows || frameCols != cols) {
+            drawFrame(frameRows, frameCols);
+        } else {
+            frame.append(SAVE_CURSOR);
+        }
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int row = firstRow + r;
+                int col = firstCol + c;
+                char symbol = row == map.getHeroRow() && col == map.getHeroCol() ? 'H' : symbol(map.getKind(row, col));
+                int i = r * cols + c;
+                if (previous[i] != symbol) {
+                    previous[i] = symbol;
+                    moveTo(FIRST_MAP_LINE + r, 3 + 4 * c);
+                    appendSymbol(symbol);
+                }
+            }
+        }
+        moveTo(FIRST_MAP_LINE + rows + 1, 1);
+        frame.append(CSI).append("2K").append(CYAN).append("Position (").append(map.getHeroRow()).append(", ")
+                .append(map.getHeroCol()).append(") of ").append(size).append('x').append(size).append(RESET);
+        if (drawn) {
+            frame.append(RESTORE_CURSOR);
+        } else {
+            moveTo(FIRST_MAP_LINE + rows + 2, 1);
+            drawn = true;
+        }
+        out.print(frame);
+    }
+
+    // Releases the scroll region and leaves the cursor below the map.
+    public void close() {
+        out.print(CSI + "r" + CSI + "999;1H");
+        out.println();
+        drawn = false;
+    }
+
+    private void drawFrame(int frameRows, int frameCols) {
+        rows = frameRows;
+        cols = frameCols;
+        previous = new char[rows * cols];
+        frame.append(CSI).append("r").append(CSI).append("H").append(CSI).append("2J");
+        frame.append(CYAN).append("=== WORLD MAP ===").append(RESET).append('\n');
+        frame.append("Legend: ").append(YELLOW).append("H=Hero ").append(RESET).append(GREEN).append("M=Market ")
+                .append(RESET).append(RED).append("X=Blocked ").append(RESET).append("C=Common").append('\n');
+        frame.append('┌').append(border('┬')).append("┐\n");
+        for (int r = 0; r < rows; r++) {
+            frame.append('│');
+            for (int c = 0; c < cols; c++) {
+                frame.append("   │");
+            }
+            frame.append('\n');
+        }
+        frame.append('└').append(border('┴')).append('┘');
+        // Text written after the map scrolls inside the lines below it.
+        frame.append(CSI).append(FIRST_MAP_LINE + rows + 2).append('r');
+    }
+
+    private String border(char junction) {
+        StringBuilder line = new StringBuilder();
+        for (int c = 0; c < cols; c++) {
+            if (c > 0) {
+                line.append(junction);
+            }
+            line.append("───");
+        }
+        return line.toString();
+    }
+
+    private void moveTo(int line, int column) {
+        frame.append(CSI).append(line).append(';').append(column).append('H');
+    }
+
+    private void appendSymbol(char symbol) {
+        switch (symbol) {
+            case 'H' -> frame.append(YELLOW).append('H').append(RESET);
+            case 'M' -> frame.append(GREEN).append('M').append(RESET);
+            case 'X' -> frame.append(RED).append('X').append(RESET);
+            default -> frame.append(symbol);
+        }
+    }
+
+    private static char symbol(byte kind) {
+        return switch (kind) {
+            case Tile.MARKET -> 'M';
+            case Tile.INACCESSIBLE -> 'X';
+            default -> 'C';
+        };
+    }
+}
@@ -2,7 +2,12 @@ public class Warrior extends Hero {
 
     public Warrior(String name, int level, int maxHealth, int maxMana, int strength, int dexterity, int agility,
                    int gold, int experience) {
-        super(name, level, maxHealth, maxMana, strength, dexterity, agility, gold, experience);
+        this(new HeroArchetype(HeroKind.WARRIOR, name, level, maxHealth, maxMana, strength, dexterity, agility,
+                gold, experience));
+    }
+
+    public Warrior(HeroArchetype archetype) {
+        super(archetype);
     }
 
     @Override
@@ -0,0 +1,43 @@
+import java.util.random.RandomGenerator;
+
+// Encounter settings for one band of the map: how often monsters appear, the level range they are
+// clamped to, and relative weights for which monster type shows up.
+public record Zone(String name, int encounterRate, int minLevel, int maxLevel, int dragonWeight,
+                   int exoskeletonWeight, int spiritWeight) {
+
+    // Used when Zones.txt is empty: the old flat 30% roll at the party's level with any monster type.
+    public static final Zone UNZONED = new Zone("Wilds", 30, 1, Integer.MAX_VALUE, 0, 0, 0);
+
+    public Zone {
+        if (encounterRate < 0 || encounterRate > 100) {
+            throw new IllegalArgumentException("Encounter rate must be a percentage");
+        }
+        if (minLevel < 1 || maxLevel < minLevel) {
+            throw new IllegalArgumentException("Level band must be positive and ordered");
+        }
+        if (dragonWeight < 0 || exoskeletonWeight < 0 || spiritWeight < 0) {
+            throw new IllegalArgumentException("Monster weights must be non-negative");
+        }
+    }
+
+    public boolean rollEncounter(RandomGenerator random) {
+        return random.nextInt(100) < encounterRate;
+    }
+
+    public int levelFor(int partyLevel) {
+        return Math.max(minLevel, Math.min(maxLevel, partyLevel));
+    }
+
+    // Null when every weight is zero, meaning any monster type may appear.
+    public Class<? extends Monster> pickType(RandomGenerator random) {
+        int total = dragonWeight + exoskeletonWeight + spiritWeight;
+        if (total == 0) {
+            return null;
+        }
+        int roll = random.nextInt(total);
+        if (roll < dragonWeight) {
+            return Dragon.class;
+        }
+        return roll < dragonWeight + exoskeletonWeight ? Exoskeleton.class : Spirit.class;
+    }
+}
@@ -0,0 +1,62 @@
+import java.util.List;
+
+// Precomputed danger level for every region of the map, so resolving the zone of a step is one array
+// read. Regions are square blocks of 2^shift tiles: 8x8 where the map is large enough, smaller so that a
+// small map still spans at least four regions per side, and larger so the table never exceeds 256x256.
+// Danger grows with distance from the starting region, with some per-region noise; it is stored as a
+// 0-255 fraction and scaled onto the current zone list, so a reloaded Zones.txt applies immediately.
+public class ZoneMap {
+    private static final int REGION_SHIFT = 3;
+    private static final int MIN_REGIONS = 4;
+    private static final int MAX_REGIONS = 256;
+    private static final int JITTER = 32;
+
+    private final int shift;
+    private final int regionsPerSide;
+    private final byte[] danger;
+
+    public ZoneMap(int size, int startRow, int startCol, long seed) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Map size must be positive");
+        }
+        int s = REGION_SHIFT;
+        while (s > 0 && ((size - 1) >> s) + 1 < MIN_REGIONS) {
+            s--;
+        }
+        while (((size - 1) >> s) + 1 > MAX_REGIONS) {
+            s++;
+        }
+        shift = s;
+        regionsPerSide = ((size - 1) >> shift) + 1;
+        danger = new byte[regionsPerSide * regionsPerSide];
+
+        int startRegionRow = startRow >> shift;
+        int startRegionCol = startCol >> shift;
+        int farthest = Math.max(Math.max(startRegionRow, regionsPerSide - 1 - startRegionRow),
+                Math.max(startRegionCol, regionsPerSide - 1 - startRegionCol));
+        for (int r = 0; r < regionsPerSide; r++) {
+            for (int c = 0; c < regionsPerSide; c++) {
+                int distance = Math.max(Math.abs(r - startRegionRow), Math.abs(c - startRegionCol));
+                if (distance == 0) {
+                    continue;
+                }
+                int index = r * regionsPerSide + c;
+                int jitter = (int) Math.floorMod(MapGenerator.mix(seed, index), 2L * JITTER + 1) - JITTER;
+                int level = distance * 256 / (farthest + 1) + jitter;
+                danger[index] = (byte) Math.max(0, Math.min(255, level));
+            }
+        }
+    }
+
+    public Zone zoneAt(int row, int col, List<Zone> zones) {
+        if (zones.isEmpty()) {
+            return Zone.UNZONED;
+        }
+        int level = danger[(row >> shift) * regionsPerSide + (col >> shift)] & 0xFF;
+        return zones.get(level * zones.size() >>> 8);
+    }
+
+    public int getRegionSize() {
+        return 1 << shift;
+    }
+}